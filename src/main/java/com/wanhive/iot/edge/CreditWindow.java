@@ -0,0 +1,237 @@
+/*
+ * CreditWindow.java
+ * 
+ * Limits the number of outgoing messages in flight
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of outgoing messages (and optionally bytes) in flight. A
+ * message takes a credit when it is put into the outgoing queue, the credit is
+ * returned when a response arrives (the oldest message in flight is assumed to
+ * be acknowledged) or when the window is refilled. The callers wait while the
+ * window is full. Configure a refill interval if some of the messages, for
+ * example the publications, don't generate a response. Thread safe.
+ * 
+ * @author amit
+ *
+ */
+public class CreditWindow {
+	private final int messages;
+	private final int bytes;
+	/**
+	 * Refill interval in nanoseconds (zero to disable)
+	 */
+	private final long refill;
+	private final Lock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+	/**
+	 * Lengths of the messages in flight, oldest first
+	 */
+	private final int[] lengths;
+	private int head;
+	private int count;
+	private int inFlightBytes;
+	private long refilled = System.nanoTime();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param messages The maximum number of messages in flight
+	 * @param bytes    The maximum number of bytes in flight (zero for no limit)
+	 * @param refill   The interval (in milliseconds) after which the window is
+	 *                 refilled regardless of the responses (zero to disable)
+	 */
+	public CreditWindow(int messages, int bytes, long refill) {
+		if (messages <= 0 || bytes < 0 || refill < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.messages = messages;
+		this.bytes = bytes;
+		this.refill = TimeUnit.MILLISECONDS.toNanos(refill);
+		this.lengths = new int[messages];
+	}
+
+	/**
+	 * Takes a credit for a message, waits while the window is full
+	 * 
+	 * @param length The message length in bytes
+	 * @throws InterruptedException
+	 */
+	public void acquire(int length) throws InterruptedException {
+		lock.lock();
+		try {
+			while (!tryTake(length)) {
+				if (refill > 0) {
+					available.awaitNanos(refilled + refill - System.nanoTime());
+				} else {
+					available.await();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes a credit for a message if available
+	 * 
+	 * @param length The message length in bytes
+	 * @return true on success, false if the window is full
+	 */
+	public boolean tryAcquire(int length) {
+		lock.lock();
+		try {
+			return tryTake(length);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the credit of the oldest message in flight, called when a response
+	 * arrives
+	 */
+	public void release() {
+		lock.lock();
+		try {
+			if (count > 0) {
+				inFlightBytes -= lengths[head];
+				head = (head + 1) % messages;
+				--count;
+				wake();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the credit of a message which won't be sent after all (rejected,
+	 * dropped or discarded). Returns the newest credit of the same length, hence
+	 * the credits of the messages sent before are not affected.
+	 * 
+	 * @param length The message length in bytes
+	 */
+	void cancel(int length) {
+		lock.lock();
+		try {
+			if (count == 0) {
+				return;
+			}
+
+			int i = count - 1;
+			while (i > 0 && lengths[(head + i) % messages] != length) {
+				--i;
+			}
+			if (lengths[(head + i) % messages] != length) {
+				i = count - 1;
+			}
+			inFlightBytes -= lengths[(head + i) % messages];
+			for (; i < count - 1; ++i) {
+				lengths[(head + i) % messages] = lengths[(head + i + 1) % messages];
+			}
+			--count;
+			wake();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns all the credits
+	 */
+	public void reset() {
+		lock.lock();
+		try {
+			clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of messages in flight
+	 * 
+	 * @return The number of credits taken
+	 */
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes a credit if available, refills the window first if the interval has
+	 * elapsed. Must be called with the lock held.
+	 * 
+	 * @param length The message length in bytes
+	 * @return true on success, false otherwise
+	 */
+	private boolean tryTake(int length) {
+		if (refill > 0 && System.nanoTime() - refilled >= refill) {
+			clear();
+		}
+
+		// A message larger than the byte limit goes through an empty window
+		if (count == messages || (bytes > 0 && count > 0 && inFlightBytes + length > bytes)) {
+			return false;
+		}
+		lengths[(head + count) % messages] = length;
+		++count;
+		inFlightBytes += length;
+		return true;
+	}
+
+	/**
+	 * Wakes up the callers waiting for a credit after a credit was returned.
+	 * Under a byte limit, the first waiter's message may still not fit while a
+	 * smaller one would, hence all of them are woken up. Must be called with the
+	 * lock held.
+	 */
+	private void wake() {
+		if (bytes > 0) {
+			available.signalAll();
+		} else {
+			available.signal();
+		}
+	}
+
+	/**
+	 * Returns all the credits and restarts the refill interval. Must be called
+	 * with the lock held.
+	 */
+	private void clear() {
+		head = 0;
+		count = 0;
+		inFlightBytes = 0;
+		refilled = System.nanoTime();
+		available.signalAll();
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Demultiplexer.java
+ * 
+ * Dispatches the incoming messages by category
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.wanhive.iot.protocol.Frame;
+import com.wanhive.iot.protocol.Header;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.RequestContext;
+import com.wanhive.iot.protocol.StatusCode;
+import com.wanhive.iot.protocol.bean.MessageContext;
+
+/**
+ * Dispatches the incoming messages to a separate handler for each
+ * {@link Category}, hence the responses don't have to wait behind a flood of
+ * publications if the handlers are served by the different threads. A message
+ * is classified by its status code, and a request by its command and qualifier,
+ * using the lookup tables rather than a chain of comparisons. A message of a
+ * category without a handler goes to the handler of {@link Category#OTHER} if
+ * one is set. The handlers can be changed at any time. Thread safe.
+ * 
+ * @author amit
+ *
+ */
+public class Demultiplexer implements Receiver {
+	/**
+	 * The message categories
+	 */
+	public static enum Category {
+		/**
+		 * Success responses ({@link StatusCode#OK})
+		 */
+		RESPONSE,
+		/**
+		 * Failure responses ({@link StatusCode#NOK})
+		 */
+		ERROR,
+		/**
+		 * Publications ({@link RequestContext#PUBLISH})
+		 */
+		PUBLICATION,
+		/**
+		 * Everything else
+		 */
+		OTHER
+	}
+
+	private static final Category[] CATEGORIES = Category.values();
+	/**
+	 * Categories indexed by the status code, null for the requests
+	 */
+	private static final Category[] STATUSES = new Category[256];
+	static {
+		for (int i = 0; i < STATUSES.length; i++) {
+			STATUSES[i] = Category.OTHER;
+		}
+		STATUSES[StatusCode.OK & 0xFF] = Category.RESPONSE;
+		STATUSES[StatusCode.NOK & 0xFF] = Category.ERROR;
+		STATUSES[StatusCode.REQUEST & 0xFF] = null;
+	}
+
+	/**
+	 * Category ordinals of the requests indexed by the command and the
+	 * qualifier, replaced on modification
+	 */
+	private volatile byte[] requests;
+	private final AtomicReferenceArray<Receiver> handlers = new AtomicReferenceArray<Receiver>(CATEGORIES.length);
+
+	/**
+	 * The default constructor
+	 */
+	public Demultiplexer() {
+		byte[] table = new byte[256 * 256];
+		for (int i = 0; i < table.length; i++) {
+			table[i] = (byte) Category.OTHER.ordinal();
+		}
+		MessageContext publish = RequestContext.PUBLISH;
+		table[indexOf(publish.getCommand(), publish.getQualifier())] = (byte) Category.PUBLICATION.ordinal();
+		requests = table;
+	}
+
+	/**
+	 * Sets the handler of a category
+	 * 
+	 * @param category The message {@link Category}
+	 * @param handler  The {@link Receiver} of the category's messages (null to
+	 *                 remove)
+	 */
+	public void setHandler(Category category, Receiver handler) {
+		handlers.set(category.ordinal(), handler);
+	}
+
+	/**
+	 * Assigns a category to the requests of the given type
+	 * 
+	 * @param context  The request's command and qualifier (the status code is
+	 *                 ignored)
+	 * @param category The message {@link Category}
+	 */
+	public synchronized void setCategory(MessageContext context, Category category) {
+		byte[] table = requests.clone();
+		table[indexOf(context.getCommand(), context.getQualifier())] = (byte) category.ordinal();
+		requests = table;
+	}
+
+	/**
+	 * Classifies a message
+	 * 
+	 * @param header The message's {@link Header}
+	 * @return The message {@link Category}
+	 */
+	public Category classify(Header header) {
+		Category category = STATUSES[header.getStatus() & 0xFF];
+		if (category != null) {
+			return category;
+		} else {
+			return CATEGORIES[requests[indexOf(header.getCommand(), header.getQualifier())]];
+		}
+	}
+
+	@Override
+	public void receive(Message message) {
+		Receiver r = route(message.header());
+		if (r != null) {
+			r.receive(message);
+		}
+	}
+
+	@Override
+	public void receive(Frame frame) {
+		Receiver r = route(frame.header());
+		if (r != null) {
+			r.receive(frame);
+		}
+	}
+
+	/**
+	 * Looks up the handler of a message
+	 * 
+	 * @param header The message's {@link Header}
+	 * @return The handler, null if none
+	 */
+	private Receiver route(Header header) {
+		Receiver r = handlers.get(classify(header).ordinal());
+		return r != null ? r : handlers.get(Category.OTHER.ordinal());
+	}
+
+	/**
+	 * Returns the requests table index
+	 * 
+	 * @param command   The command
+	 * @param qualifier The qualifier
+	 * @return The table index
+	 */
+	private static int indexOf(byte command, byte qualifier) {
+		return ((command & 0xFF) << 8) | (qualifier & 0xFF);
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * EventLoop.java
+ * 
+ * Selector based event loop
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+/**
+ * Selector based event loop. Multiplexes many {@link Link}s on a single
+ * thread.
+ * 
+ * @author amit
+ *
+ */
+class EventLoop implements Runnable {
+	private final Selector selector;
+	private final Thread thread;
+	/**
+	 * Tasks submitted by the other threads
+	 */
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+	private volatile boolean running = true;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param name Name of the event loop's thread
+	 * @throws IOException
+	 */
+	EventLoop(String name) throws IOException {
+		selector = Selector.open();
+		thread = new Thread(this, name);
+		thread.setDaemon(true);
+	}
+
+	/**
+	 * Returns the {@link Selector}. Must be used from the event loop's thread.
+	 * 
+	 * @return The {@link Selector}
+	 */
+	Selector selector() {
+		return selector;
+	}
+
+	/**
+	 * Checks whether the caller is running on the event loop's thread
+	 * 
+	 * @return true if called from the event loop's thread, false otherwise
+	 */
+	boolean inLoop() {
+		return Thread.currentThread() == thread;
+	}
+
+	/**
+	 * Schedules a task for execution on the event loop's thread
+	 * 
+	 * @param task The task to execute
+	 */
+	void execute(Runnable task) {
+		tasks.add(task);
+		if (!inLoop()) {
+			selector.wakeup();
+		}
+	}
+
+	/**
+	 * Starts the event loop
+	 */
+	void start() {
+		thread.start();
+	}
+
+	/**
+	 * Stops the event loop and closes all the registered {@link Link}s
+	 */
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+		if (!thread.isAlive()) {
+			try {
+				selector.close();
+			} catch (IOException e) {
+				Logger.getGlobal().warning(e.getMessage());
+			}
+		} else if (!inLoop()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Executes the pending tasks. The tasks scheduled in the meantime are left
+	 * for the next iteration, so that a task rescheduling itself can not starve
+	 * the I/O.
+	 */
+	private void runTasks() {
+		Runnable task;
+		for (int n = tasks.size(); n > 0 && (task = tasks.poll()) != null; --n) {
+			try {
+				task.run();
+			} catch (Exception e) {
+				Logger.getGlobal().warning(e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		Logger.getGlobal().info(thread.getName() + " started");
+		try {
+			while (running) {
+				// Don't block while some tasks are waiting
+				if (tasks.isEmpty()) {
+					selector.select();
+				} else {
+					selector.selectNow();
+				}
+				runTasks();
+				Iterator<SelectionKey> i = selector.selectedKeys().iterator();
+				while (i.hasNext()) {
+					SelectionKey key = i.next();
+					i.remove();
+					Link link = (Link) key.attachment();
+					if (key.isValid()) {
+						link.process(key.readyOps());
+					}
+				}
+			}
+		} catch (Exception e) {
+			Logger.getGlobal().warning(e.getMessage());
+		} finally {
+			runTasks();
+			for (SelectionKey key : selector.keys()) {
+				((Link) key.attachment()).close();
+			}
+			while (!tasks.isEmpty()) {
+				runTasks();
+			}
+			try {
+				selector.close();
+			} catch (IOException e) {
+				Logger.getGlobal().warning(e.getMessage());
+			}
+			Logger.getGlobal().info(thread.getName() + " stopped");
+		}
+	}
+}
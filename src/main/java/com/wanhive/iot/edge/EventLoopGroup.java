@@ -0,0 +1,114 @@
+/*
+ * EventLoopGroup.java
+ * 
+ * Hosts many client connections on a few threads
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Client;
+
+/**
+ * Hosts many client connections on a few threads. Uses one {@link EventLoop}
+ * (a selector and a thread) per processor by default. The connections are
+ * assigned to the event loops in round-robin order. An alternative to the
+ * {@link Executor} which requires three threads per connection.
+ * 
+ * @author amit
+ *
+ */
+public class EventLoopGroup implements AutoCloseable {
+	private static final String BAD_CLIENT = "Not a non-blocking client";
+	private final EventLoop[] loops;
+	private final AtomicInteger next = new AtomicInteger(0);
+
+	/**
+	 * Constructor: creates one event loop per available processor
+	 * 
+	 * @throws IOException
+	 */
+	public EventLoopGroup() throws IOException {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param threads The number of event loops (threads)
+	 * @throws IOException
+	 */
+	public EventLoopGroup(int threads) throws IOException {
+		if (threads <= 0) {
+			throw new IllegalArgumentException();
+		}
+
+		loops = new EventLoop[threads];
+		try {
+			for (int i = 0; i < threads; ++i) {
+				loops[i] = new EventLoop("EventLoop-" + i);
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+
+		for (EventLoop loop : loops) {
+			loop.start();
+		}
+	}
+
+	/**
+	 * Hosts a client connection. The {@link Receiver} is invoked on an event
+	 * loop's thread, hence it should never block.
+	 * 
+	 * @param client      The connected {@link Client}, must be a
+	 *                    {@link ChannelClient}
+	 * @param receiver    The {@link Receiver} of the incoming messages (can be
+	 *                    null)
+	 * @param outCapacity Outgoing messages queue's capacity
+	 * @return The {@link Link} for sending out the messages
+	 */
+	public Link register(Client client, Receiver receiver, int outCapacity) {
+		if (!(client instanceof ChannelClient)) {
+			throw new IllegalArgumentException(BAD_CLIENT);
+		}
+
+		EventLoop loop = loops[Math.floorMod(next.getAndIncrement(), loops.length)];
+		Link link = new Link(loop, (ChannelClient) client, receiver, outCapacity);
+		link.register();
+		return link;
+	}
+
+	/**
+	 * Stops the event loops and closes all the hosted connections
+	 */
+	@Override
+	public void close() {
+		for (EventLoop loop : loops) {
+			if (loop != null) {
+				loop.shutdown();
+			}
+		}
+	}
+}
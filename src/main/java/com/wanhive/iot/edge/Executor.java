@@ -24,17 +24,34 @@
 package com.wanhive.iot.edge;
 
 import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
 import com.wanhive.iot.protocol.Client;
+import com.wanhive.iot.protocol.FlushPolicy;
+import com.wanhive.iot.protocol.Frame;
 import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.Packet;
+import com.wanhive.iot.protocol.StatusCode;
 
 /**
  * Threaded executor for the client applications. Uses two bounded queues, one
- * for the outgoing messages and another one for the incoming messages.
+ * for the outgoing messages and another one for the incoming messages. The
+ * pooled messages (see {@link com.wanhive.iot.protocol.MessagePool}) put into
+ * the outgoing queue are released after they have been sent out. The
+ * {@link Receiver} gets the incoming messages as the {@link Frame}s (see
+ * {@link Receiver#receive(Frame)}), the messages taken from the incoming queue
+ * and the responses should be released by the application.
  * 
  * @author amit
  *
@@ -42,8 +59,11 @@ import com.wanhive.iot.protocol.Message;
 public class Executor implements Runnable, AutoCloseable {
 	private static final String BAD_REQUEST = "Not permitted";
 
-	private final Object notifier = new Object();
+	// A lock instead of a monitor, waiting on a monitor pins a virtual thread
+	private final Lock lock = new ReentrantLock();
+	private final Condition notifier = lock.newCondition();
 	private boolean running = false; // Condition variable
+	private volatile boolean virtual = false; // Use the virtual threads
 	private final AtomicBoolean stopped = new AtomicBoolean(true); // Status flag
 
 	private Client client; // The connection
@@ -51,12 +71,21 @@ public class Executor implements Runnable, AutoCloseable {
 	private Message outgoing;
 	private final BlockingQueue<Message> in;
 	private final BlockingQueue<Message> out;
+	private final List<Message> batch = new ArrayList<Message>();
+	private volatile int batchSize = Packet.BATCH_SIZE;
+	private volatile FlushPolicy flushPolicy = FlushPolicy.DEFAULT;
+	private volatile CreditWindow window; // Limits the messages in flight
+	private volatile RateLimiter limiter; // Limits the rate of the messages
+	private boolean admitted; // Outgoing message passed the rate limiter
+	private long notBefore; // Earliest time to send the outgoing message
+	private final RequestTable requests = new RequestTable();
 
 	/**
 	 * Stops {@code this} {@link Executor} and closes the {@link Client}.
 	 */
 	private void stop() {
-		synchronized (notifier) {
+		lock.lock();
+		try {
 			try {
 				if (client != null) {
 					client.close();
@@ -68,7 +97,13 @@ public class Executor implements Runnable, AutoCloseable {
 				client = null;
 			}
 			running = false;
-			notifier.notify();
+			notifier.signal();
+		} finally {
+			lock.unlock();
+		}
+		requests.fail(new ClosedChannelException());
+		if (window != null) {
+			window.reset();
 		}
 	}
 
@@ -79,11 +114,17 @@ public class Executor implements Runnable, AutoCloseable {
 	 * @throws InterruptedException
 	 */
 	private void receive() throws IOException, InterruptedException {
-		Message message = client.receive();
-		if (receiver != null) {
-			receiver.receive(message);
+		Frame frame = client.receiveFrame();
+		if (window != null && frame.header().getStatus() != StatusCode.REQUEST) {
+			window.release();
+		}
+
+		if (requests.complete(frame)) {
+			return;
+		} else if (receiver != null) {
+			receiver.receive(frame);
 		} else if (in != null) {
-			in.put(message);
+			in.put(frame.copy());
 		} else {
 			return;
 		}
@@ -99,8 +140,88 @@ public class Executor implements Runnable, AutoCloseable {
 		if (outgoing == null) {
 			outgoing = out.take();
 		}
-		client.send(outgoing);
-		outgoing = null;
+
+		if (!admit()) {
+			return;
+		}
+
+		long wait = notBefore - System.nanoTime();
+		if (wait > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+
+		// Drain the outgoing queue and write out the messages together
+		FlushPolicy policy = flushPolicy;
+		long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(policy.getMaxDelay());
+		// Without a threshold the delay alone bounds the wait for a full batch
+		int threshold = (policy.getThreshold() > 0 || policy.getMaxDelay() == 0) ? policy.getThreshold() : batchSize;
+		int bytes = 0;
+		do {
+			bytes += outgoing.header().getLength();
+			batch.add(outgoing);
+			admitted = false;
+			if (policy.isNoDelay()) {
+				outgoing = null;
+				break;
+			} else if ((outgoing = out.poll()) == null && bytes < threshold) {
+				// Wait for more messages until the threshold or the deadline
+				long delay = deadline - System.nanoTime();
+				outgoing = (delay > 0) ? out.poll(delay, TimeUnit.NANOSECONDS) : null;
+			}
+		} while (outgoing != null && (bytes + outgoing.header().getLength()) <= batchSize && admit()
+				&& notBefore <= System.nanoTime());
+
+		try {
+			if (batch.size() == 1) {
+				client.send(batch.get(0));
+			} else {
+				client.send(batch);
+			}
+		} finally {
+			for (Message message : batch) {
+				message.release();
+			}
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Helper method for {@link #send()}: passes the outgoing message through the
+	 * rate limiter
+	 * 
+	 * @return true if the message may be sent (not before {@link #notBefore}),
+	 *         false if it has been dropped
+	 */
+	private boolean admit() {
+		if (admitted) {
+			return true;
+		}
+
+		RateLimiter l = limiter;
+		long delay = (l != null) ? l.admit(outgoing) : 0;
+		if (delay < 0) {
+			discard(outgoing);
+			outgoing = null;
+			return false;
+		} else {
+			notBefore = System.nanoTime() + delay;
+			admitted = true;
+			return true;
+		}
+	}
+
+	/**
+	 * Gives up an outgoing message which won't be sent, returns its credit (see
+	 * {@link #setCreditWindow(CreditWindow)}) and releases it
+	 * 
+	 * @param message The outgoing {@link Message}
+	 */
+	private void discard(Message message) {
+		CreditWindow w = window;
+		if (w != null) {
+			w.cancel(message.header().getLength());
+		}
+		message.release();
 	}
 
 	/**
@@ -112,7 +233,7 @@ public class Executor implements Runnable, AutoCloseable {
 	 */
 	private Thread createWorker(final boolean isReader) {
 		final String name = isReader ? "Reader" : "Writer";
-		return new Thread(() -> {
+		return Threads.create(() -> {
 			Logger.getGlobal().info(name + " started");
 			try {
 				while (true) {
@@ -127,7 +248,7 @@ public class Executor implements Runnable, AutoCloseable {
 			} finally {
 				Logger.getGlobal().info(name + " stopped");
 			}
-		});
+		}, virtual);
 	}
 
 	/**
@@ -202,24 +323,189 @@ public class Executor implements Runnable, AutoCloseable {
 		}
 	}
 
+	/**
+	 * Enables or disables the virtual threads (Java 21+) for the reader and the
+	 * writer, and for the thread created by {@link #start()}. The platform
+	 * threads are used if the runtime doesn't support the virtual threads. Fails
+	 * if the {@link Executor} is already running.
+	 * 
+	 * @param enable Set to true to use the virtual threads, false to use the
+	 *               platform threads (default)
+	 */
+	public void setVirtualThreads(boolean enable) {
+		if (!isRunning()) {
+			this.virtual = enable;
+		} else {
+			throw new IllegalStateException(BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of bytes written out together. The writer drains
+	 * all the available messages from the outgoing queue, up to this limit, and
+	 * sends them out in a single write. The clients write out at most
+	 * {@link Packet#BATCH_SIZE} bytes at once, hence that is also the largest
+	 * batch size (and the default).
+	 * 
+	 * @param bytes Maximum batch size in bytes (from {@link Packet#MTU} to
+	 *              {@link Packet#BATCH_SIZE})
+	 */
+	public void setBatchSize(int bytes) {
+		if (bytes >= Packet.MTU && bytes <= Packet.BATCH_SIZE) {
+			batchSize = bytes;
+		} else {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Sets the policy which controls when the outgoing messages are written out.
+	 * Fails if the {@link Executor} is already running.
+	 * 
+	 * @param policy The {@link FlushPolicy} ({@link FlushPolicy#DEFAULT} by
+	 *               default)
+	 */
+	public void setFlushPolicy(FlushPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException();
+		} else if (!isRunning()) {
+			this.flushPolicy = policy;
+		} else {
+			throw new IllegalStateException(BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Sets the window which limits the number of outgoing messages in flight.
+	 * Fails if the {@link Executor} is already running.
+	 * 
+	 * @param window The {@link CreditWindow} (null for no limit, the default)
+	 */
+	public void setCreditWindow(CreditWindow window) {
+		if (!isRunning()) {
+			this.window = window;
+		} else {
+			throw new IllegalStateException(BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Sets the rate limiter of the outgoing messages. The writer delays or drops
+	 * the messages as configured. Fails if the {@link Executor} is already
+	 * running.
+	 * 
+	 * @param limiter The {@link RateLimiter} (null for no limit, the default)
+	 */
+	public void setRateLimiter(RateLimiter limiter) {
+		if (!isRunning()) {
+			this.limiter = limiter;
+		} else {
+			throw new IllegalStateException(BAD_REQUEST);
+		}
+	}
+
 	/**
 	 * Tries to put a message into the outgoing queue
 	 * 
 	 * @param message The outgoing {@link Message}
-	 * @return true on success, false otherwise
+	 * @return true on success, false if the queue or the credit window (see
+	 *         {@link #setCreditWindow(CreditWindow)}) is full
 	 */
 	public boolean offer(Message message) {
-		return out.offer(message);
+		CreditWindow w = window;
+		if (w == null) {
+			return out.offer(message);
+		} else if (!w.tryAcquire(message.header().getLength())) {
+			return false;
+		} else if (out.offer(message)) {
+			return true;
+		} else {
+			w.cancel(message.header().getLength());
+			return false;
+		}
 	}
 
 	/**
-	 * Puts a message into the outgoing queue, waits if the queue is full
+	 * Puts a message into the outgoing queue, waits if the queue or the credit
+	 * window (see {@link #setCreditWindow(CreditWindow)}) is full
 	 * 
 	 * @param message The outgoing {@link Message}
 	 * @throws InterruptedException
 	 */
 	public void put(Message message) throws InterruptedException {
-		out.put(message);
+		CreditWindow w = window;
+		if (w == null) {
+			out.put(message);
+			return;
+		}
+
+		w.acquire(message.header().getLength());
+		try {
+			out.put(message);
+		} catch (InterruptedException e) {
+			w.cancel(message.header().getLength());
+			throw e;
+		}
+	}
+
+	/**
+	 * Executes a request asynchronously. Puts the request into the outgoing
+	 * queue (waits if the queue is full) and returns immediately. The response,
+	 * identified by the request's sequence number, completes the returned future
+	 * and bypasses the {@link Receiver} and the incoming queue. Many requests can
+	 * be pending at the same time, each one with a distinct sequence number.
+	 * 
+	 * @param request The request {@link Message}
+	 * @return A {@link CompletableFuture} which completes with the response
+	 *         {@link Message}. Fails if the connection is closed or
+	 *         {@code this} executor has been stopped. Cancel it to stop waiting
+	 *         for the response.
+	 * @throws InterruptedException
+	 */
+	public CompletableFuture<Message> executeAsync(Message request) throws InterruptedException {
+		CompletableFuture<Message> response = requests.register(request);
+		if (response.isDone()) {
+			return response;
+		}
+
+		try {
+			put(request);
+			return response;
+		} catch (InterruptedException e) {
+			response.cancel(false);
+			throw e;
+		}
+	}
+
+	/**
+	 * Executes a batch of requests asynchronously. Puts all the requests into
+	 * the outgoing queue (waits if the queue is full), hence they are written out
+	 * together, and returns immediately. The responses are matched as in
+	 * {@link #executeAsync(Message)} and bypass the {@link Receiver} and the
+	 * incoming queue.
+	 * 
+	 * @param requests The request {@link Message}s, each one with a distinct,
+	 *                 non-zero sequence number
+	 * @return A {@link CompletableFuture} which completes with the response
+	 *         {@link Message}s in the order of the requests. Fails if the
+	 *         connection is closed. Cancel it to stop waiting for the responses.
+	 * @throws InterruptedException
+	 */
+	public CompletableFuture<List<Message>> executeAll(List<Message> requests) throws InterruptedException {
+		List<CompletableFuture<Message>> responses = this.requests.registerAll(requests);
+		if (this.requests.isFailed()) {
+			return RequestTable.collect(responses);
+		}
+
+		try {
+			for (Message request : requests) {
+				put(request);
+			}
+			return RequestTable.collect(responses);
+		} catch (InterruptedException e) {
+			RequestTable.cancel(responses);
+			throw e;
+		}
 	}
 
 	/**
@@ -260,18 +546,24 @@ public class Executor implements Runnable, AutoCloseable {
 	}
 
 	/**
-	 * Erases the outgoing queue
+	 * Erases the outgoing queue, the pooled messages are released
 	 */
 	public void clearOutgoingQueue() {
-		out.clear();
+		Message message;
+		while ((message = out.poll()) != null) {
+			discard(message);
+		}
 	}
 
 	/**
-	 * Erases the incoming queue
+	 * Erases the incoming queue, the pooled messages are released
 	 */
 	public void clearIncomingQueue() {
 		if (in != null) {
-			in.clear();
+			Message message;
+			while ((message = in.poll()) != null) {
+				message.release();
+			}
 		}
 	}
 
@@ -289,14 +581,19 @@ public class Executor implements Runnable, AutoCloseable {
 		Thread reader = createWorker(true);
 		Thread writer = createWorker(false);
 		try {
+			requests.reset();
 			stopped.set(false);
-			synchronized (notifier) {
+			client.setNoDelay(flushPolicy.isNoDelay());
+			lock.lock();
+			try {
 				reader.start();
 				writer.start();
 				running = true;
 				while (running) {
-					notifier.wait();
+					notifier.await();
 				}
+			} finally {
+				lock.unlock();
 			}
 		} catch (Exception e) {
 			Logger.getGlobal().warning(e.getMessage());
@@ -308,6 +605,18 @@ public class Executor implements Runnable, AutoCloseable {
 		}
 	}
 
+	/**
+	 * Runs {@code this} {@link Executor} on a new thread, a virtual thread if
+	 * enabled (see {@link #setVirtualThreads(boolean)})
+	 * 
+	 * @return The started {@link Thread}
+	 */
+	public Thread start() {
+		Thread thread = Threads.create(this, virtual);
+		thread.start();
+		return thread;
+	}
+
 	@Override
 	public void close() {
 		stop();
@@ -0,0 +1,333 @@
+/*
+ * Link.java
+ * 
+ * A client connection hosted by an event loop
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Frame;
+import com.wanhive.iot.protocol.Message;
+
+/**
+ * A {@link ChannelClient} hosted by an {@link EventLoop}. The incoming messages
+ * are delivered to a {@link Receiver} on the event loop's thread, the outgoing
+ * messages are buffered in a bounded queue. The pooled outgoing messages are
+ * released after they have been sent out or dropped on close.
+ * 
+ * @author amit
+ *
+ */
+public class Link implements AutoCloseable {
+	private static final String CLOSED = "Link closed";
+	/**
+	 * Maximum number of messages processed per read event (for fairness)
+	 */
+	private static final int READ_BUDGET = 64;
+
+	private final EventLoop loop;
+	private final ChannelClient client;
+	private final Receiver receiver;
+	private final BlockingQueue<Message> out;
+	private final RequestTable requests = new RequestTable();
+	/**
+	 * Set if a write task has been scheduled on the event loop
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+	/**
+	 * Following fields are accessed only from the event loop's thread
+	 */
+	private SelectionKey key;
+	private Message outgoing;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param loop        The {@link EventLoop} hosting this link
+	 * @param client      The connected {@link ChannelClient}
+	 * @param receiver    The {@link Receiver} of the incoming messages
+	 * @param outCapacity Outgoing messages queue's capacity
+	 */
+	Link(EventLoop loop, ChannelClient client, Receiver receiver, int outCapacity) {
+		this.loop = loop;
+		this.client = client;
+		this.receiver = receiver;
+		this.out = new ArrayBlockingQueue<Message>(outCapacity);
+	}
+
+	/**
+	 * Registers {@code this} link with its {@link EventLoop}
+	 */
+	void register() {
+		loop.execute(() -> {
+			try {
+				client.setHandshakeExecutor(ForkJoinPool.commonPool(), this::resume);
+				key = client.register(loop.selector(), SelectionKey.OP_READ, this);
+				write();
+			} catch (IOException e) {
+				Logger.getGlobal().warning(e.getMessage());
+				close();
+			}
+		});
+	}
+
+	/**
+	 * Processes the I/O events. Called from the event loop's thread.
+	 * 
+	 * @param readyOps The ready operations set
+	 */
+	void process(int readyOps) {
+		try {
+			if ((readyOps & SelectionKey.OP_READ) != 0 && read()) {
+				loop.execute(() -> process(SelectionKey.OP_READ));
+			}
+			if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+				write();
+			} else if (key != null && key.isValid()) {
+				key.interestOps(client.interestOps());
+			}
+		} catch (Exception e) {
+			close();
+		}
+	}
+
+	/**
+	 * Resumes the I/O after completion of the offloaded handshake tasks
+	 */
+	private void resume() {
+		loop.execute(() -> process(SelectionKey.OP_READ | SelectionKey.OP_WRITE));
+	}
+
+	/**
+	 * Tries to put a message into the outgoing queue
+	 * 
+	 * @param message The outgoing {@link Message}
+	 * @return true on success, false if the queue is full or {@code this} link
+	 *         is closed
+	 */
+	public boolean offer(Message message) {
+		if (closed.get() || !out.offer(message)) {
+			return false;
+		} else if (withdrawn(message)) {
+			return false;
+		} else {
+			schedule();
+			return true;
+		}
+	}
+
+	/**
+	 * Puts a message into the outgoing queue, waits if the queue is full
+	 * 
+	 * @param message The outgoing {@link Message}
+	 * @throws InterruptedException
+	 * @throws IllegalStateException {@code this} link is closed (the message is
+	 *                               not queued)
+	 */
+	public void put(Message message) throws InterruptedException {
+		if (closed.get()) {
+			throw new IllegalStateException(CLOSED);
+		}
+
+		out.put(message);
+		if (withdrawn(message)) {
+			throw new IllegalStateException(CLOSED);
+		}
+		schedule();
+	}
+
+	/**
+	 * Executes a request asynchronously. Puts the request into the outgoing
+	 * queue (waits if the queue is full) and returns immediately. The response,
+	 * identified by the request's sequence number, completes the returned future
+	 * and bypasses the {@link Receiver}.
+	 * 
+	 * @param request The request {@link Message}
+	 * @return A {@link CompletableFuture} which completes with the response
+	 *         {@link Message}. Fails if the connection is closed.
+	 * @throws InterruptedException
+	 */
+	public CompletableFuture<Message> executeAsync(Message request) throws InterruptedException {
+		CompletableFuture<Message> response = requests.register(request);
+		if (response.isDone()) {
+			return response;
+		}
+
+		try {
+			put(request);
+		} catch (InterruptedException e) {
+			response.cancel(false);
+			throw e;
+		} catch (IllegalStateException e) {
+			response.completeExceptionally(new ClosedChannelException());
+		}
+		return response;
+	}
+
+	/**
+	 * Executes a batch of requests asynchronously. Puts all the requests into
+	 * the outgoing queue (waits if the queue is full), hence they are written out
+	 * together, and returns immediately. The responses are matched as in
+	 * {@link #executeAsync(Message)} and bypass the {@link Receiver}.
+	 * 
+	 * @param requests The request {@link Message}s, each one with a distinct,
+	 *                 non-zero sequence number
+	 * @return A {@link CompletableFuture} which completes with the response
+	 *         {@link Message}s in the order of the requests. Fails if the
+	 *         connection is closed. Cancel it to stop waiting for the responses.
+	 * @throws InterruptedException
+	 */
+	public CompletableFuture<List<Message>> executeAll(List<Message> requests) throws InterruptedException {
+		List<CompletableFuture<Message>> responses = this.requests.registerAll(requests);
+		if (this.requests.isFailed()) {
+			return RequestTable.collect(responses);
+		}
+
+		try {
+			for (Message request : requests) {
+				put(request);
+			}
+		} catch (InterruptedException e) {
+			RequestTable.cancel(responses);
+			throw e;
+		} catch (IllegalStateException e) {
+			RequestTable.fail(responses, new ClosedChannelException());
+		}
+		return RequestTable.collect(responses);
+	}
+
+	/**
+	 * Returns the "open" state
+	 * 
+	 * @return true if {@code this} {@link Link} is open, false otherwise
+	 */
+	public boolean isOpen() {
+		return !closed.get();
+	}
+
+	@Override
+	public void close() {
+		if (closed.compareAndSet(false, true)) {
+			loop.execute(() -> {
+				if (key != null) {
+					key.cancel();
+				}
+				client.close();
+				if (outgoing != null) {
+					outgoing.release();
+					outgoing = null;
+				}
+				Message message;
+				while ((message = out.poll()) != null) {
+					message.release();
+				}
+				requests.fail(new ClosedChannelException());
+				Logger.getGlobal().info("Connection closed");
+			});
+		}
+	}
+
+	/**
+	 * Takes a message back out of the outgoing queue if {@code this} link was
+	 * closed while the message was being queued, the closed link's queue is not
+	 * drained anymore
+	 * 
+	 * @param message The queued {@link Message}
+	 * @return true if the message was taken back, false otherwise
+	 */
+	private boolean withdrawn(Message message) {
+		return closed.get() && out.remove(message);
+	}
+
+	/**
+	 * Schedules a write task on the event loop (at most one at a time)
+	 */
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			loop.execute(() -> {
+				scheduled.set(false);
+				try {
+					write();
+				} catch (Exception e) {
+					close();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Delivers the incoming messages to the {@link Receiver}
+	 * 
+	 * @return true if more data is waiting to be read without a read event
+	 * @throws IOException
+	 */
+	private boolean read() throws IOException {
+		Frame frame;
+		for (int i = 0; i < READ_BUDGET; ++i) {
+			if ((frame = client.readFrame()) == null) {
+				return false;
+			} else if (requests.complete(frame)) {
+				continue;
+			} else if (receiver != null) {
+				receiver.receive(frame);
+			}
+		}
+		return client.isReadable();
+	}
+
+	/**
+	 * Drains the outgoing queue into the connection
+	 * 
+	 * @throws IOException
+	 */
+	private void write() throws IOException {
+		if (key == null || !key.isValid()) {
+			return;
+		}
+
+		while (true) {
+			if (outgoing == null && (outgoing = out.poll()) == null) {
+				client.flush();
+				break;
+			} else if (client.enqueue(outgoing)) {
+				outgoing.release();
+				outgoing = null;
+			} else if (!client.flush()) {
+				// Resumes on the write event
+				break;
+			}
+		}
+
+		key.interestOps(client.interestOps());
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * RateLimiter.java
+ * 
+ * Limits the rate of the outgoing messages
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.Protocol;
+import com.wanhive.iot.protocol.RequestContext;
+
+/**
+ * Limits the rate of the outgoing messages using the {@link TokenBucket}s, one
+ * for the connection and one for each topic. A message takes one token from
+ * the connection's bucket, a publication also takes one token from its topic's
+ * bucket. The limits can be changed at any time. Thread safe.
+ * 
+ * @author amit
+ *
+ */
+public class RateLimiter {
+	private static final int TOPICS = 256;
+	private volatile TokenBucket connection;
+	private final AtomicReferenceArray<TokenBucket> topics = new AtomicReferenceArray<TokenBucket>(TOPICS);
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Sets the connection's limit
+	 * 
+	 * @param bucket The {@link TokenBucket} (null for no limit)
+	 */
+	public void setConnectionLimit(TokenBucket bucket) {
+		connection = bucket;
+	}
+
+	/**
+	 * Sets a topic's limit
+	 * 
+	 * @param topic  The topic identifier
+	 * @param bucket The {@link TokenBucket} (null for no limit)
+	 */
+	public void setTopicLimit(byte topic, TokenBucket bucket) {
+		topics.set(topic & 0xFF, bucket);
+	}
+
+	/**
+	 * Returns the number of dropped messages
+	 * 
+	 * @return The dropped messages count
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * Takes the tokens for an outgoing message
+	 * 
+	 * @param message The outgoing {@link Message}
+	 * @return The time (in nanoseconds) to wait before sending the message, -1
+	 *         if the message should be dropped
+	 */
+	public long admit(Message message) {
+		TokenBucket topic = null;
+		if (Protocol.checkContext(message, RequestContext.PUBLISH, true)) {
+			topic = topics.get(message.header().getSession() & 0xFF);
+		}
+		TokenBucket conn = connection;
+
+		// A dropped message should not consume the tokens of any other bucket
+		boolean topicDrop = topic != null && topic.isDrop();
+		if (topicDrop && !topic.tryAcquire(1)) {
+			dropped.incrementAndGet();
+			return -1;
+		} else if (conn != null && conn.isDrop() && !conn.tryAcquire(1)) {
+			if (topicDrop) {
+				topic.refund(1);
+			}
+			dropped.incrementAndGet();
+			return -1;
+		}
+
+		long delay = 0;
+		if (topic != null && !topic.isDrop()) {
+			delay = topic.reserve(1);
+		}
+		if (conn != null && !conn.isDrop()) {
+			delay = Math.max(delay, conn.reserve(1));
+		}
+		return delay;
+	}
+}
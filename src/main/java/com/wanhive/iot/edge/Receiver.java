@@ -23,6 +23,7 @@
  */
 package com.wanhive.iot.edge;
 
+import com.wanhive.iot.protocol.Frame;
 import com.wanhive.iot.protocol.Message;
 
 /**
@@ -33,9 +34,23 @@ import com.wanhive.iot.protocol.Message;
  */
 public interface Receiver {
 	/**
-	 * Processes an incoming message
+	 * Processes an incoming message. The receiver owns the message passed by the
+	 * default {@link #receive(Frame)} and may keep it.
 	 * 
 	 * @param message The {@link Message} to process
 	 */
 	public void receive(Message message);
+
+	/**
+	 * Processes an incoming message without copying it. The {@link Frame} is
+	 * valid only during this call, use {@link Frame#copy()} to keep it. The
+	 * default implementation passes a copy, which is not taken from any
+	 * {@link com.wanhive.iot.protocol.MessagePool}, to {@link #receive(Message)}.
+	 * Override this method to avoid the copying.
+	 * 
+	 * @param frame The {@link Frame} to process
+	 */
+	default void receive(Frame frame) {
+		receive(frame.copyTo(new Message()));
+	}
 }
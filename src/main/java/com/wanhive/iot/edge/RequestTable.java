@@ -0,0 +1,224 @@
+/*
+ * RequestTable.java
+ * 
+ * Correlates the responses with the pending requests
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.wanhive.iot.protocol.Frame;
+import com.wanhive.iot.protocol.Header;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.StatusCode;
+
+/**
+ * Correlates the responses with the pending requests using the sequence
+ * numbers. A response matches a request if both carry the same sequence
+ * number, command and qualifier, and the response's status is not
+ * {@link StatusCode#REQUEST}.
+ * 
+ * @author amit
+ *
+ */
+class RequestTable {
+	private static final String BAD_REQUEST = "Invalid sequence number";
+	private static final String DUPLICATE_REQUEST = "Request already pending";
+
+	/**
+	 * A pending request
+	 */
+	private static class Pending extends CompletableFuture<Message> {
+		private final byte command;
+		private final byte qualifier;
+
+		Pending(byte command, byte qualifier) {
+			this.command = command;
+			this.qualifier = qualifier;
+		}
+	}
+
+	private final ConcurrentMap<Integer, Pending> pending = new ConcurrentHashMap<Integer, Pending>();
+	/**
+	 * Reason of the failure, set while the connection is closed
+	 */
+	private volatile Throwable failure;
+
+	/**
+	 * Registers a request. The request fails immediately if the connection is
+	 * closed (see {@link #fail(Throwable)}).
+	 * 
+	 * @param request The request {@link Message} (with a non-zero sequence
+	 *                number)
+	 * @return A {@link CompletableFuture} which completes with the response
+	 */
+	CompletableFuture<Message> register(Message request) {
+		Header h = request.header();
+		if (h.getSequenceNumber() == 0) {
+			throw new IllegalArgumentException(BAD_REQUEST);
+		}
+
+		Integer key = Integer.valueOf(h.getSequenceNumber());
+		Pending p = new Pending(h.getCommand(), h.getQualifier());
+		if (pending.putIfAbsent(key, p) != null) {
+			throw new IllegalStateException(DUPLICATE_REQUEST);
+		}
+		// Cancellation (for example on a timeout) releases the slot
+		p.whenComplete((m, e) -> pending.remove(key, p));
+		// Checked after the registration, hence a concurrent failure is not missed
+		Throwable cause = failure;
+		if (cause != null) {
+			p.completeExceptionally(cause);
+		}
+		return p;
+	}
+
+	/**
+	 * Registers a batch of requests, none of them remains registered on failure
+	 * 
+	 * @param requests The request {@link Message}s
+	 * @return The {@link CompletableFuture}s of the responses, in the order of
+	 *         the requests
+	 */
+	List<CompletableFuture<Message>> registerAll(List<Message> requests) {
+		List<CompletableFuture<Message>> responses = new ArrayList<CompletableFuture<Message>>(requests.size());
+		try {
+			for (Message request : requests) {
+				responses.add(register(request));
+			}
+			return responses;
+		} catch (RuntimeException e) {
+			cancel(responses);
+			throw e;
+		}
+	}
+
+	/**
+	 * Completes the matching request
+	 * 
+	 * @param frame The incoming message
+	 * @return true if the message was consumed as a response, false otherwise
+	 */
+	boolean complete(Frame frame) {
+		if (pending.isEmpty()) {
+			return false;
+		}
+
+		Header h = frame.header();
+		if (h.getStatus() == StatusCode.REQUEST) {
+			return false;
+		}
+
+		Integer key = Integer.valueOf(h.getSequenceNumber());
+		Pending p = pending.get(key);
+		if (p != null && p.command == h.getCommand() && p.qualifier == h.getQualifier() && pending.remove(key, p)) {
+			p.complete(frame.copy());
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Fails all the pending requests, and the requests registered afterwards
+	 * until {@link #reset()}
+	 * 
+	 * @param cause The reason of failure
+	 */
+	void fail(Throwable cause) {
+		failure = cause;
+		for (Pending p : pending.values()) {
+			p.completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * Accepts the requests again after {@link #fail(Throwable)}, called when the
+	 * connection is reopened
+	 */
+	void reset() {
+		failure = null;
+	}
+
+	/**
+	 * Checks whether the requests are being failed
+	 * 
+	 * @return true if the connection is closed, false otherwise
+	 */
+	boolean isFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * Combines the responses of a batch. If the batch fails or is cancelled then
+	 * the remaining requests are cancelled and the received responses are
+	 * released.
+	 * 
+	 * @param responses The {@link CompletableFuture}s of the responses
+	 * @return A {@link CompletableFuture} which completes with the responses
+	 */
+	static CompletableFuture<List<Message>> collect(List<CompletableFuture<Message>> responses) {
+		CompletableFuture<List<Message>> result = CompletableFuture
+				.allOf(responses.toArray(new CompletableFuture<?>[responses.size()])).thenApply(v -> {
+					List<Message> list = new ArrayList<Message>(responses.size());
+					for (CompletableFuture<Message> response : responses) {
+						list.add(response.join());
+					}
+					return list;
+				});
+		result.whenComplete((list, e) -> {
+			if (e != null) {
+				cancel(responses);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Fails the pending requests of a batch
+	 * 
+	 * @param responses The {@link CompletableFuture}s of the responses
+	 * @param cause     The reason of failure
+	 */
+	static void fail(List<CompletableFuture<Message>> responses, Throwable cause) {
+		for (CompletableFuture<Message> response : responses) {
+			response.completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * Cancels the pending requests of a batch and releases the received
+	 * responses
+	 * 
+	 * @param responses The {@link CompletableFuture}s of the responses
+	 */
+	static void cancel(List<CompletableFuture<Message>> responses) {
+		for (CompletableFuture<Message> response : responses) {
+			if (!response.cancel(false) && !response.isCompletedExceptionally()) {
+				response.join().release();
+			}
+		}
+	}
+}
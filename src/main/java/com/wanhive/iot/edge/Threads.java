@@ -0,0 +1,94 @@
+/*
+ * Threads.java
+ * 
+ * Creates the platform and virtual threads
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates the platform and virtual threads. The virtual threads (Java 21+) are
+ * resolved at run time so that the library still runs on Java 8, the platform
+ * threads are used if the virtual threads are not available.
+ * 
+ * @author amit
+ *
+ */
+final class Threads {
+	/**
+	 * The Thread.ofVirtual() method, null if not supported
+	 */
+	private static final Method OF_VIRTUAL;
+	/**
+	 * The Thread.Builder.unstarted(Runnable) method, null if not supported
+	 */
+	private static final Method UNSTARTED;
+
+	static {
+		Method ofVirtual = null;
+		Method unstarted = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+			// Fails if the virtual threads are a preview feature (Java 19, 20)
+			unstarted.invoke(ofVirtual.invoke(null), (Runnable) () -> {
+			});
+		} catch (Throwable e) {
+			ofVirtual = null;
+			unstarted = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		UNSTARTED = unstarted;
+	}
+
+	private Threads() {
+
+	}
+
+	/**
+	 * Checks whether the virtual threads are supported by the runtime
+	 * 
+	 * @return true if supported, false otherwise
+	 */
+	static boolean isVirtualSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Creates a new (unstarted) thread
+	 * 
+	 * @param task    The task to run
+	 * @param virtual If true then a virtual thread is created if supported,
+	 *                otherwise a platform thread is created
+	 * @return A {@link Thread} object
+	 */
+	static Thread create(Runnable task, boolean virtual) {
+		if (virtual && isVirtualSupported()) {
+			try {
+				return (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), task);
+			} catch (Exception e) {
+				// Fall back to the platform thread
+			}
+		}
+		return new Thread(task);
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * TokenBucket.java
+ * 
+ * Lock-free token bucket
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The bucket holds up to the burst size tokens and is
+ * refilled at a constant rate. Implemented as a virtual scheduling algorithm:
+ * the state is a single timestamp (the time at which the bucket becomes full
+ * again) updated with compare-and-set, hence there is no refill thread. When
+ * the bucket is empty a message is either dropped or delayed until enough
+ * tokens are available.
+ * 
+ * @author amit
+ *
+ */
+public class TokenBucket {
+	/**
+	 * Time to generate one token in nanoseconds
+	 */
+	private final long interval;
+	/**
+	 * Time to fill the bucket in nanoseconds
+	 */
+	private final long tolerance;
+	private final boolean drop;
+	/**
+	 * The time at which the bucket becomes full
+	 */
+	private final AtomicLong full = new AtomicLong(System.nanoTime());
+
+	/**
+	 * Constructor
+	 * 
+	 * @param rate  The refill rate in tokens per second
+	 * @param burst The bucket size in tokens
+	 * @param drop  Set to true to drop the messages if the bucket is empty,
+	 *              false to delay them
+	 */
+	public TokenBucket(double rate, int burst, boolean drop) {
+		if (!(rate > 0) || burst <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+		this.tolerance = interval * burst;
+		this.drop = drop;
+	}
+
+	/**
+	 * Takes the tokens if available
+	 * 
+	 * @param tokens The number of tokens
+	 * @return true if the tokens were taken, false otherwise
+	 */
+	public boolean tryAcquire(int tokens) {
+		while (true) {
+			long now = System.nanoTime();
+			long current = full.get();
+			long next = Math.max(current - now, 0) + interval * tokens;
+			if (next > tolerance) {
+				return false;
+			} else if (full.compareAndSet(current, now + next)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Takes the tokens, borrowing from the future refills if necessary
+	 * 
+	 * @param tokens The number of tokens
+	 * @return The time (in nanoseconds) to wait before the tokens are actually
+	 *         available, zero if they are available now
+	 */
+	public long reserve(int tokens) {
+		while (true) {
+			long now = System.nanoTime();
+			long current = full.get();
+			long next = Math.max(current - now, 0) + interval * tokens;
+			if (full.compareAndSet(current, now + next)) {
+				return Math.max(next - tolerance, 0);
+			}
+		}
+	}
+
+	/**
+	 * Gives back the tokens taken for a message which won't be sent after all
+	 * 
+	 * @param tokens The number of tokens
+	 */
+	void refund(int tokens) {
+		full.addAndGet(-interval * tokens);
+	}
+
+	/**
+	 * Checks whether the messages are dropped if the bucket is empty
+	 * 
+	 * @return true if the messages are dropped, false if they are delayed
+	 */
+	public boolean isDrop() {
+		return drop;
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * TopicRouter.java
+ * 
+ * Dispatches the incoming publications by topic
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.wanhive.iot.protocol.Frame;
+import com.wanhive.iot.protocol.Header;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.RequestContext;
+
+/**
+ * Dispatches the incoming publications to the handlers registered for their
+ * topic (see {@link Header#getSession()}). The handlers are stored in a fixed
+ * table of 256 slots, one for each topic, each slot holds an immutable array
+ * which is replaced on modification. Hence the handlers can be added and
+ * removed at any time without locking the dispatch path. The other messages,
+ * and the publications without a handler, go to the fallback {@link Receiver}
+ * if one is set.
+ * 
+ * @author amit
+ *
+ */
+public class TopicRouter implements Receiver {
+	private static final int TOPICS = 256;
+	private static final Receiver[] NONE = new Receiver[0];
+	private static final byte COMMAND = RequestContext.PUBLISH.getCommand();
+	private static final byte QUALIFIER = RequestContext.PUBLISH.getQualifier();
+	private static final byte STATUS = RequestContext.PUBLISH.getStatus();
+	private final AtomicReferenceArray<Receiver[]> handlers = new AtomicReferenceArray<Receiver[]>(TOPICS);
+	private volatile Receiver fallback;
+
+	/**
+	 * The default constructor
+	 */
+	public TopicRouter() {
+		this(null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param fallback The {@link Receiver} of the messages which are not routed
+	 *                 (can be null)
+	 */
+	public TopicRouter(Receiver fallback) {
+		this.fallback = fallback;
+		for (int i = 0; i < TOPICS; i++) {
+			handlers.set(i, NONE);
+		}
+	}
+
+	/**
+	 * Sets the receiver of the messages which are not routed
+	 * 
+	 * @param fallback The fallback {@link Receiver} (null to drop such messages)
+	 */
+	public void setFallback(Receiver fallback) {
+		this.fallback = fallback;
+	}
+
+	/**
+	 * Registers a handler for a topic
+	 * 
+	 * @param topic   The topic identifier
+	 * @param handler The {@link Receiver} of the topic's publications
+	 */
+	public void add(byte topic, Receiver handler) {
+		if (handler == null) {
+			throw new IllegalArgumentException();
+		}
+
+		int slot = topic & 0xFF;
+		Receiver[] current;
+		Receiver[] next;
+		do {
+			current = handlers.get(slot);
+			next = Arrays.copyOf(current, current.length + 1);
+			next[current.length] = handler;
+		} while (!handlers.compareAndSet(slot, current, next));
+	}
+
+	/**
+	 * Removes a handler of a topic
+	 * 
+	 * @param topic   The topic identifier
+	 * @param handler The {@link Receiver} to remove
+	 * @return true if the handler was removed, false if it wasn't registered
+	 */
+	public boolean remove(byte topic, Receiver handler) {
+		int slot = topic & 0xFF;
+		Receiver[] current;
+		Receiver[] next;
+		do {
+			current = handlers.get(slot);
+			int index = indexOf(current, handler);
+			if (index == -1) {
+				return false;
+			} else if (current.length == 1) {
+				next = NONE;
+			} else {
+				next = new Receiver[current.length - 1];
+				System.arraycopy(current, 0, next, 0, index);
+				System.arraycopy(current, index + 1, next, index, next.length - index);
+			}
+		} while (!handlers.compareAndSet(slot, current, next));
+		return true;
+	}
+
+	/**
+	 * Removes all the handlers of a topic
+	 * 
+	 * @param topic The topic identifier
+	 */
+	public void clear(byte topic) {
+		handlers.set(topic & 0xFF, NONE);
+	}
+
+	@Override
+	public void receive(Message message) {
+		Receiver[] targets = route(message.header());
+		if (targets.length == 0) {
+			Receiver r = fallback;
+			if (r != null) {
+				r.receive(message);
+			}
+		} else {
+			for (Receiver r : targets) {
+				r.receive(message);
+			}
+		}
+	}
+
+	@Override
+	public void receive(Frame frame) {
+		Receiver[] targets = route(frame.header());
+		if (targets.length == 0) {
+			Receiver r = fallback;
+			if (r != null) {
+				r.receive(frame);
+			}
+		} else {
+			for (Receiver r : targets) {
+				r.receive(frame);
+			}
+		}
+	}
+
+	/**
+	 * Looks up the handlers of a message
+	 * 
+	 * @param header The message's {@link Header}
+	 * @return The handlers, an empty array if the message is not a publication
+	 */
+	private Receiver[] route(Header header) {
+		if (header.getCommand() == COMMAND && header.getQualifier() == QUALIFIER && header.getStatus() == STATUS) {
+			return handlers.get(header.getSession() & 0xFF);
+		} else {
+			return NONE;
+		}
+	}
+
+	/**
+	 * Finds a handler
+	 * 
+	 * @param list    The handlers
+	 * @param handler The handler to find
+	 * @return The handler's index, -1 if not found
+	 */
+	private static int indexOf(Receiver[] list, Receiver handler) {
+		for (int i = 0; i < list.length; i++) {
+			if (list[i] == handler) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
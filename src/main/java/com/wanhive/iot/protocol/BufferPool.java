@@ -0,0 +1,95 @@
+/*
+ * BufferPool.java
+ * 
+ * Bounded pool of direct byte buffers
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, thread safe pool of equally sized direct byte buffers. Allocates a
+ * new buffer if the pool is empty, drops the returned buffers if the pool is
+ * full.
+ * 
+ * @author amit
+ *
+ */
+class BufferPool {
+	private final int bufferSize;
+	private final int capacity;
+	private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+	private final AtomicInteger count = new AtomicInteger(0);
+
+	/**
+	 * Constructor
+	 * 
+	 * @param bufferSize Size of each buffer in bytes
+	 * @param capacity   The maximum number of buffers in the pool
+	 */
+	BufferPool(int bufferSize, int capacity) {
+		this.bufferSize = bufferSize;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the size of the pooled buffers
+	 * 
+	 * @return Buffer size in bytes
+	 */
+	int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Takes a cleared buffer from the pool
+	 * 
+	 * @return A {@link ByteBuffer}
+	 */
+	ByteBuffer acquire() {
+		ByteBuffer buffer = buffers.poll();
+		if (buffer != null) {
+			count.decrementAndGet();
+			return buffer;
+		} else {
+			return ByteBuffer.allocateDirect(bufferSize);
+		}
+	}
+
+	/**
+	 * Returns a buffer to the pool. Buffers of a different size are dropped.
+	 * 
+	 * @param buffer The {@link ByteBuffer} to return
+	 */
+	void release(ByteBuffer buffer) {
+		if (buffer == null || buffer.capacity() != bufferSize || !buffer.isDirect()) {
+			return;
+		} else if (count.incrementAndGet() <= capacity) {
+			buffer.clear();
+			buffers.offer(buffer);
+		} else {
+			count.decrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,499 @@
+/*
+ * ChannelClient.java
+ * 
+ * Non-blocking implementation of the Wanhive client
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+
+import com.wanhive.iot.protocol.bean.NameInfo;
+
+/**
+ * Non-blocking implementation of the Wanhive client. Uses a
+ * {@link SocketChannel} and direct buffers, secure connections are implemented
+ * with an {@link SSLEngine}. The blocking {@link Client} methods wait for the
+ * channel's readiness, the non-blocking methods ({@link #read()},
+ * {@link #enqueue(Message)} and {@link #flush()}) are meant for the event
+ * loops. Connects over a Unix domain socket (Java 16+) if the host's service
+ * field is a file system path instead of a port number. A reader thread and a
+ * writer thread can use the blocking methods concurrently once the connection
+ * is established.
+ * 
+ * @author amit
+ *
+ */
+public class ChannelClient extends Connection {
+	private static final String BAD_MESSAGE = "Invalid message";
+	private static final String BAD_CONNECTION = "Invalid connection";
+	private static final String NO_SSL = "Secure connection not available";
+	private static final String TIMED_OUT = "Connection timed out";
+
+	private SocketChannel channel;
+	/**
+	 * The secure layer over the channel (null for cleartext connections)
+	 */
+	private SecureChannel secure;
+	/**
+	 * Data is read from and written to this channel
+	 */
+	private ByteChannel io;
+	/**
+	 * Wait for the channel's readiness during the blocking receive and send
+	 * operations respectively (separate selectors let a reader thread and a
+	 * writer thread wait concurrently)
+	 */
+	private Selector readSelector;
+	private Selector writeSelector;
+	/**
+	 * Read timeout in milliseconds
+	 */
+	private int timeout;
+	/**
+	 * Buffers and decodes the incoming messages
+	 */
+	private FrameDecoder decoder = new FrameDecoder(Packet.BATCH_SIZE, true);
+	/**
+	 * Source of the incoming messages (null for allocation)
+	 */
+	private MessagePool pool;
+	/**
+	 * Coalesces the outgoing messages
+	 */
+	private ByteBuffer tx = ByteBuffer.allocateDirect(Packet.BATCH_SIZE);
+
+	/**
+	 * Constructor
+	 * 
+	 * @param channel The {@link SocketChannel} to use for communication
+	 * @throws IOException
+	 */
+	ChannelClient(SocketChannel channel) throws IOException {
+		this(channel, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param channel The {@link SocketChannel} to use for communication
+	 * @param secure  The secure layer over the channel (null for cleartext)
+	 * @throws IOException
+	 */
+	ChannelClient(SocketChannel channel, SecureChannel secure) throws IOException {
+		this.channel = channel;
+		this.secure = secure;
+		this.io = (secure != null) ? secure : channel;
+		channel.configureBlocking(false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param host    The remote host
+	 * @param timeout The read timeout in milliseconds (set to 0 to block forever)
+	 * @param ssl     Enable or disable secure connection
+	 * @throws IOException
+	 */
+	ChannelClient(NameInfo host, int timeout, boolean ssl) throws IOException {
+		connect(host, timeout, ssl);
+	}
+
+	@Override
+	void connect(NameInfo host, int timeout, boolean ssl) throws IOException {
+		try {
+			close();
+			setTimeout(timeout);
+			int port;
+			SocketAddress address;
+			if (UnixDomain.isPath(host.getService())) {
+				port = -1;
+				address = UnixDomain.address(host.getService());
+				channel = UnixDomain.open();
+			} else {
+				port = Integer.parseInt(host.getService());
+				address = new InetSocketAddress(host.getHost(), port);
+				channel = SocketChannel.open();
+			}
+			channel.configureBlocking(false);
+			io = channel;
+			if (!channel.connect(address)) {
+				while (!channel.finishConnect()) {
+					await(SelectionKey.OP_CONNECT);
+				}
+			}
+
+			if (ssl) {
+				SSLEngine engine = createEngine(host.getHost(), port);
+				engine.setUseClientMode(true);
+				io = secure = new SecureChannel(channel, engine);
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	@Override
+	Connection detach() {
+		try {
+			ChannelClient client = new ChannelClient(channel, secure);
+			channel = null;
+			secure = null;
+			io = null;
+			closeSelector();
+			client.setTimeout(timeout);
+			client.pool = pool;
+			// Swap the buffers, the new client gets the unprocessed data
+			FrameDecoder d = client.decoder;
+			client.decoder = decoder;
+			decoder = d;
+			ByteBuffer b = client.tx;
+			client.tx = tx;
+			tx = b;
+			return client;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			if (io != null) {
+				io.close();
+			} else if (channel != null) {
+				channel.close();
+			}
+		} catch (Exception e) {
+		} finally {
+			channel = null;
+			secure = null;
+			io = null;
+			closeSelector();
+			decoder.clear();
+			tx.clear();
+		}
+	}
+
+	/**
+	 * Registers the underlying channel with the given {@link Selector}
+	 * 
+	 * @param selector   The {@link Selector} to register with
+	 * @param ops        The interest set
+	 * @param attachment The attachment for the resulting key (can be null)
+	 * @return The {@link SelectionKey} representing the registration
+	 * @throws ClosedChannelException
+	 */
+	public SelectionKey register(Selector selector, int ops, Object attachment) throws ClosedChannelException {
+		if (channel == null) {
+			throw new ClosedChannelException();
+		}
+		return channel.register(selector, ops, attachment);
+	}
+
+	/**
+	 * Returns the interest set required by the connection's current state
+	 * 
+	 * @return The interest set for the event loops
+	 */
+	public int interestOps() {
+		int ops = SelectionKey.OP_READ | (tx.position() != 0 ? SelectionKey.OP_WRITE : 0);
+		return secure != null ? secure.interestOps(ops) : ops;
+	}
+
+	/**
+	 * Checks whether some data has been received but not yet consumed (it will
+	 * not trigger a read event)
+	 * 
+	 * @return true if some buffered data is waiting to be read, false otherwise
+	 */
+	public boolean isReadable() {
+		return decoder.hasFrame() || (secure != null && secure.isReadable());
+	}
+
+	/**
+	 * Configures the execution of the long running tasks of the secure
+	 * connection's handshake, by default they run on the calling thread.
+	 * 
+	 * @param executor The {@link Executor} for the handshake tasks, null for
+	 *                 inline execution
+	 * @param listener Invoked (from the executor's thread) after completion of
+	 *                 the tasks. Should arrange for the connection's I/O to
+	 *                 resume. Can be null.
+	 */
+	public void setHandshakeExecutor(Executor executor, Runnable listener) {
+		if (secure != null) {
+			secure.setExecutor(executor, listener);
+		}
+	}
+
+	/**
+	 * Reads a {@link Message} from the connection without blocking
+	 * 
+	 * @return A {@link Message} received from the network, null if a complete
+	 *         message is not available yet
+	 * @throws IOException
+	 */
+	public Message read() throws IOException {
+		Frame frame = readFrame();
+		return (frame != null) ? frame.copy() : null;
+	}
+
+	/**
+	 * Reads a {@link Frame} from the connection without blocking
+	 * 
+	 * @return A {@link Frame} received from the network (valid until the next
+	 *         read), null if a complete message is not available yet
+	 * @throws IOException
+	 */
+	public Frame readFrame() throws IOException {
+		Frame frame;
+		while ((frame = decoder.nextFrame(pool)) == null) {
+			int bytes = decoder.fill(io);
+			if (bytes == -1) {
+				throw new EOFException(BAD_CONNECTION);
+			} else if (bytes == 0) {
+				return null;
+			}
+		}
+		return frame;
+	}
+
+	/**
+	 * Copies a {@link Message} into the outgoing buffer without blocking. Call
+	 * {@link #flush()} to write out the buffered data.
+	 * 
+	 * @param message The {@link Message} to send out
+	 * @return true on success, false if the outgoing buffer is full
+	 */
+	public boolean enqueue(Message message) {
+		int messageLength = message.header().getLength();
+		if (!Packet.isValidLength(messageLength)) {
+			throw new IllegalArgumentException(BAD_MESSAGE);
+		} else if (tx.remaining() < messageLength) {
+			return false;
+		} else {
+			message.writeTo(tx);
+			return true;
+		}
+	}
+
+	/**
+	 * Writes out the buffered data without blocking
+	 * 
+	 * @return true if the outgoing buffer was emptied, false otherwise
+	 * @throws IOException
+	 */
+	public boolean flush() throws IOException {
+		tx.flip();
+		try {
+			io.write(tx);
+			return !tx.hasRemaining() && (secure == null || !secure.isPending());
+		} finally {
+			tx.compact();
+		}
+	}
+
+	/**
+	 * Checks whether the outgoing buffer contains some data
+	 * 
+	 * @return true if some data is waiting to be written out, false otherwise
+	 */
+	public boolean isPending() {
+		return tx.position() != 0 || (secure != null && secure.isPending());
+	}
+
+	@Override
+	public void send(Message message) throws IOException {
+		while (!enqueue(message)) {
+			if (!flush()) {
+				await(SelectionKey.OP_WRITE);
+			}
+		}
+
+		while (!flush()) {
+			await(SelectionKey.OP_WRITE);
+		}
+	}
+
+	@Override
+	public void send(List<Message> messages) throws IOException {
+		for (Message message : messages) {
+			while (!enqueue(message)) {
+				if (!flush()) {
+					await(SelectionKey.OP_WRITE);
+				}
+			}
+		}
+
+		while (!flush()) {
+			await(SelectionKey.OP_WRITE);
+		}
+	}
+
+	@Override
+	public Message receive() throws IOException {
+		return receiveFrame().copy();
+	}
+
+	@Override
+	public Frame receiveFrame() throws IOException {
+		Frame frame;
+		while ((frame = readFrame()) == null) {
+			if (secure != null && secure.isPending()) {
+				secure.flush();
+			}
+			await(SelectionKey.OP_READ);
+		}
+		return frame;
+	}
+
+	@Override
+	public Message receive(short sequenceNumber) throws IOException {
+		while (true) {
+			// Only the matching message is copied (possibly into a pooled message)
+			Frame frame = receiveFrame();
+			if (sequenceNumber == 0 || frame.header().getSequenceNumber() == sequenceNumber) {
+				return frame.copy();
+			}
+		}
+	}
+
+	@Override
+	public Message execute(Message request) throws IOException {
+		short sn = request.header().getSequenceNumber();
+		send(request);
+		return receive(sn);
+	}
+
+	@Override
+	public void setTimeout(int milliseconds) {
+		if (milliseconds < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.timeout = milliseconds;
+	}
+
+	@Override
+	public void setNoDelay(boolean on) throws IOException {
+		if (channel == null) {
+			throw new ClosedChannelException();
+		} else if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY)) {
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, on);
+		}
+	}
+
+	@Override
+	public void setMessagePool(MessagePool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Waits until the channel is ready for the given operation
+	 * 
+	 * @param ops The interest set
+	 * @throws IOException
+	 */
+	private void await(int ops) throws IOException {
+		Selector selector;
+		if (ops == SelectionKey.OP_READ) {
+			selector = (readSelector != null) ? readSelector : (readSelector = Selector.open());
+		} else {
+			selector = (writeSelector != null) ? writeSelector : (writeSelector = Selector.open());
+		}
+
+		if (secure != null && ops != SelectionKey.OP_CONNECT) {
+			ops = secure.interestOps(ops);
+		}
+
+		SelectionKey key = channel.keyFor(selector);
+		if (key == null) {
+			channel.register(selector, ops);
+		} else {
+			key.interestOps(ops);
+		}
+
+		try {
+			while (selector.select(timeout) == 0) {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new InterruptedIOException();
+				} else if (timeout != 0) {
+					throw new SocketTimeoutException(TIMED_OUT);
+				}
+			}
+		} finally {
+			selector.selectedKeys().clear();
+		}
+	}
+
+	/**
+	 * Creates a new {@link SSLEngine} using the default SSL context
+	 * 
+	 * @param host The remote host
+	 * @param port The remote port
+	 * @return An {@link SSLEngine} object
+	 * @throws SSLException
+	 */
+	private static SSLEngine createEngine(String host, int port) throws SSLException {
+		try {
+			return SSLContext.getDefault().createSSLEngine(host, port);
+		} catch (NoSuchAlgorithmException e) {
+			throw new SSLException(NO_SSL, e);
+		}
+	}
+
+	/**
+	 * Closes the private selectors
+	 */
+	private void closeSelector() {
+		try {
+			if (readSelector != null) {
+				readSelector.close();
+			}
+			if (writeSelector != null) {
+				writeSelector.close();
+			}
+		} catch (Exception e) {
+		} finally {
+			readSelector = null;
+			writeSelector = null;
+		}
+	}
+}
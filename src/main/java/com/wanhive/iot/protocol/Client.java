@@ -24,6 +24,10 @@
 package com.wanhive.iot.protocol;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The Client interface (supports blocking IO)
@@ -40,6 +44,19 @@ public interface Client extends AutoCloseable {
 	 */
 	void send(Message message) throws IOException;
 
+	/**
+	 * Sends a list of messages to the network. The implementations coalesce the
+	 * messages to minimize the number of writes.
+	 * 
+	 * @param messages The {@link Message}s to send out (in order)
+	 * @throws IOException
+	 */
+	default void send(List<Message> messages) throws IOException {
+		for (Message message : messages) {
+			send(message);
+		}
+	}
+
 	/**
 	 * Receives a {@link Message} from the network
 	 * 
@@ -48,6 +65,17 @@ public interface Client extends AutoCloseable {
 	 */
 	Message receive() throws IOException;
 
+	/**
+	 * Receives a message from the network without copying it. The returned
+	 * {@link Frame} is valid until the next receive call.
+	 * 
+	 * @return A {@link Frame} received from the network
+	 * @throws IOException
+	 */
+	default Frame receiveFrame() throws IOException {
+		return new Frame(receive());
+	}
+
 	/**
 	 * Reads from the connection until a {@link Message} matching the given sequence
 	 * number is found
@@ -67,6 +95,46 @@ public interface Client extends AutoCloseable {
 	 */
 	Message execute(Message request) throws IOException;
 
+	/**
+	 * Executes a batch of requests in a single round trip. Writes out all the
+	 * requests together and collects the responses in any order. A response
+	 * matches a request if both carry the same sequence number, command and
+	 * qualifier, and the response's status is not {@link StatusCode#REQUEST}.
+	 * The other incoming messages are discarded (released), use the
+	 * {@code executeAll} methods of the executors to keep them.
+	 * 
+	 * @param requests The request {@link Message}s, each one with a distinct,
+	 *                 non-zero sequence number
+	 * @return The response {@link Message}s in the order of the requests
+	 * @throws IOException
+	 */
+	default List<Message> executeAll(List<Message> requests) throws IOException {
+		Map<Short, Integer> pending = new HashMap<Short, Integer>();
+		for (int i = 0; i < requests.size(); ++i) {
+			short sn = requests.get(i).header().getSequenceNumber();
+			if (sn == 0 || pending.put(sn, i) != null) {
+				throw new IllegalArgumentException();
+			}
+		}
+
+		send(requests);
+		Message[] responses = new Message[requests.size()];
+		while (!pending.isEmpty()) {
+			Message message = receive();
+			Header h = message.header();
+			Integer index = pending.get(h.getSequenceNumber());
+			Header r = (index != null) ? requests.get(index).header() : null;
+			if (r != null && h.getStatus() != StatusCode.REQUEST && h.getCommand() == r.getCommand()
+					&& h.getQualifier() == r.getQualifier()) {
+				pending.remove(h.getSequenceNumber());
+				responses[index] = message;
+			} else {
+				message.release();
+			}
+		}
+		return Arrays.asList(responses);
+	}
+
 	/**
 	 * Sets connection's read timeout to the given value
 	 * 
@@ -74,4 +142,27 @@ public interface Client extends AutoCloseable {
 	 * @throws IOException
 	 */
 	void setTimeout(int milliseconds) throws IOException;
+
+	/**
+	 * Enables or disables the Nagle's algorithm (TCP_NODELAY). Ignored by the
+	 * connections which don't support it.
+	 * 
+	 * @param on Set to true to disable the Nagle's algorithm, false to enable it
+	 * @throws IOException
+	 */
+	default void setNoDelay(boolean on) throws IOException {
+
+	}
+
+	/**
+	 * Sets the source of the incoming messages. The received messages are taken
+	 * from the pool and should be released after use (see
+	 * {@link Message#release()}). Ignored by the connections which don't support
+	 * it.
+	 * 
+	 * @param pool The {@link MessagePool} (null for allocating the new messages)
+	 */
+	default void setMessagePool(MessagePool pool) {
+
+	}
 }
@@ -31,6 +31,7 @@ import com.nimbusds.srp6.SRP6Exception;
 import com.wanhive.iot.protocol.agreement.WHSRP6ClientSession;
 import com.wanhive.iot.protocol.bean.IdentificationResponse;
 import com.wanhive.iot.protocol.bean.Identity;
+import com.wanhive.iot.protocol.bean.NameInfo;
 import com.wanhive.iot.protocol.hosts.Hosts;
 
 /**
@@ -46,6 +47,7 @@ public class ClientFactory {
 	private final Hosts hosts;
 	private final long[] authNodes;
 	private final long[] bootNodes;
+	private final boolean nonBlocking;
 
 	/**
 	 * Configures the trust store
@@ -67,9 +69,26 @@ public class ClientFactory {
 	 * @param bootNodes The bootstrap nodes
 	 */
 	public ClientFactory(Hosts hosts, long[] authNodes, long[] bootNodes) {
+		this(hosts, authNodes, bootNodes, false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param hosts       The {@link Hosts} database for name resolution
+	 * @param authNodes   The authenticator nodes
+	 * @param bootNodes   The bootstrap nodes
+	 * @param nonBlocking If true then the clients are created as
+	 *                    {@link ChannelClient}s, otherwise as
+	 *                    {@link WanhiveClient}s. The hosts listening on a Unix
+	 *                    domain socket (service field is a path) are always
+	 *                    reached using {@link ChannelClient}s.
+	 */
+	public ClientFactory(Hosts hosts, long[] authNodes, long[] bootNodes, boolean nonBlocking) {
 		this.hosts = hosts;
 		this.authNodes = authNodes;
 		this.bootNodes = bootNodes;
+		this.nonBlocking = nonBlocking;
 	}
 
 	/**
@@ -82,7 +101,7 @@ public class ClientFactory {
 	 * @throws ProtocolException Could not connect to the network
 	 */
 	public Client createClient(Identity identity, int timeout, boolean secure) throws ProtocolException {
-		try (WanhiveClient auth = authenticate(identity, timeout, secure)) {
+		try (Connection auth = authenticate(identity, timeout, secure)) {
 			return bootstrap(identity, auth, timeout, secure);
 		}
 	}
@@ -93,10 +112,10 @@ public class ClientFactory {
 	 * @param identity Client's {@link Identity}
 	 * @param timeout  Connection timeout during handshake
 	 * @param secure   If true then SSL/TLS connection will be established
-	 * @return A {@link WanhiveClient} connected to authentication server
+	 * @return A {@link Connection} to authentication server
 	 * @throws ProtocolException
 	 */
-	private WanhiveClient authenticate(Identity identity, int timeout, boolean secure) throws ProtocolException {
+	private Connection authenticate(Identity identity, int timeout, boolean secure) throws ProtocolException {
 		if (identity.getPassword() == null || identity.getPassword().length == 0) {
 			return null;
 		}
@@ -106,10 +125,10 @@ public class ClientFactory {
 			if (connected) { // Something went bad
 				break;
 			}
-			try (WanhiveClient auth = new WanhiveClient(hosts.get(node), timeout, secure)) {
+			try (Connection auth = open(hosts.get(node), timeout, secure)) {
 				connected = true;
 				authenticate(auth, identity);
-				return new WanhiveClient(auth.release());
+				return auth.detach();
 			} catch (Exception e) {
 
 			}
@@ -118,6 +137,23 @@ public class ClientFactory {
 		throw new ProtocolException(AUTHENTICATION_FAIL);
 	}
 
+	/**
+	 * Connects to the given host
+	 * 
+	 * @param host    The remote host
+	 * @param timeout Connection timeout during handshake
+	 * @param secure  If true then SSL/TLS connection will be established
+	 * @return A {@link Connection} to the remote host
+	 * @throws IOException
+	 */
+	private Connection open(NameInfo host, int timeout, boolean secure) throws IOException {
+		if (nonBlocking || UnixDomain.isPath(host.getService())) {
+			return new ChannelClient(host, timeout, secure);
+		} else {
+			return new WanhiveClient(host, timeout, secure);
+		}
+	}
+
 	/**
 	 * Helper method for {@link #authenticate(Identity, int, boolean)}
 	 * 
@@ -158,17 +194,17 @@ public class ClientFactory {
 	 * @param authenticator The {@link Client} connection to authentication server
 	 * @param timeout       Connection timeout during handshake
 	 * @param secure        If true then SSL/TLS connection will be established
-	 * @return A {@link WanhiveClient} connected to overlay server
+	 * @return A {@link Connection} to overlay server
 	 * @throws ProtocolException
 	 */
-	private WanhiveClient bootstrap(Identity identity, Client authenticator, int timeout, boolean secure)
+	private Connection bootstrap(Identity identity, Client authenticator, int timeout, boolean secure)
 			throws ProtocolException {
 		boolean connected = false;
 		for (long node : bootNodes) {
 			if (connected) { // Something bad happened
 				break;
 			}
-			try (WanhiveClient client = new WanhiveClient(hosts.get(node), timeout, secure)) {
+			try (Connection client = open(hosts.get(node), timeout, secure)) {
 				connected = true;
 				// -----------------------------------------------------------------
 				/*
@@ -190,7 +226,7 @@ public class ClientFactory {
 				authorize(client, authenticator, identity, sid);
 				// -----------------------------------------------------------------
 				client.setTimeout(0);
-				return new WanhiveClient(client.release());
+				return client.detach();
 			} catch (Exception e) {
 
 			}
@@ -0,0 +1,58 @@
+/*
+ * Connection.java
+ * 
+ * Base class of the clients which manage their own connections
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.io.IOException;
+
+import com.wanhive.iot.protocol.bean.NameInfo;
+
+/**
+ * Base class of the clients which manage their own connections (used by the
+ * {@link ClientFactory})
+ * 
+ * @author amit
+ *
+ */
+abstract class Connection implements Client {
+	/**
+	 * Connects to a remote host (closes any existing connection).
+	 * 
+	 * @param host    Remote host's details as {@link NameInfo}
+	 * @param timeout The read timeout in milliseconds (set to 0 to block forever)
+	 * @param ssl     Enable or disable secure connection
+	 * @throws IOException
+	 */
+	abstract void connect(NameInfo host, int timeout, boolean ssl) throws IOException;
+
+	/**
+	 * Moves the underlying connection into a new object. {@code this} object is
+	 * left without a connection.
+	 * 
+	 * @return A new {@link Connection} which owns the underlying connection
+	 */
+	abstract Connection detach();
+
+	@Override
+	public abstract void close();
+}
@@ -0,0 +1,140 @@
+/*
+ * DeflateCodec.java
+ * 
+ * DEFLATE compression of the published data
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * DEFLATE compression of the published data. The small messages compress
+ * poorly on their own, a preset dictionary containing the strings common to
+ * the messages (field names, units, typical values) improves the compression
+ * ratio considerably. The publishers and the subscribers must use the same
+ * dictionary. Not thread safe, call {@link #close()} to release the native
+ * resources.
+ * 
+ * @author amit
+ *
+ */
+public class DeflateCodec implements PayloadCodec, AutoCloseable {
+	/**
+	 * The maximum size of the decoded data
+	 */
+	public static final int MAX_LENGTH = Fragmenter.FRAGMENT_SIZE * Fragmenter.MAX_FRAGMENTS;
+	private static final String BAD_DATA = "Malformed data";
+	private final byte[] dictionary;
+	private final Deflater deflater;
+	private final Inflater inflater;
+	/**
+	 * Working buffer, the larger results are built in temporary buffers, hence
+	 * the memory retained by the codec stays bounded
+	 */
+	private final byte[] buffer = new byte[Packet.BATCH_SIZE];
+
+	/**
+	 * The default constructor: no dictionary, the default compression level
+	 */
+	public DeflateCodec() {
+		this(null, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param dictionary The preset dictionary (can be null)
+	 */
+	public DeflateCodec(byte[] dictionary) {
+		this(dictionary, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param dictionary The preset dictionary (can be null)
+	 * @param level      The compression level (0-9)
+	 */
+	public DeflateCodec(byte[] dictionary, int level) {
+		this.dictionary = (dictionary != null) ? dictionary.clone() : null;
+		this.deflater = new Deflater(level);
+		this.inflater = new Inflater();
+	}
+
+	@Override
+	public byte[] encode(byte[] data, int offset, int length) {
+		deflater.reset();
+		if (dictionary != null) {
+			deflater.setDictionary(dictionary);
+		}
+		deflater.setInput(data, offset, length);
+		deflater.finish();
+		byte[] out = buffer;
+		int bytes = 0;
+		while (!deflater.finished()) {
+			if (bytes == out.length) {
+				out = Arrays.copyOf(out, out.length << 1);
+			}
+			bytes += deflater.deflate(out, bytes, out.length - bytes);
+		}
+		return Arrays.copyOf(out, bytes);
+	}
+
+	@Override
+	public byte[] decode(byte[] data, int offset, int length) {
+		inflater.reset();
+		inflater.setInput(data, offset, length);
+		byte[] out = buffer;
+		int bytes = 0;
+		try {
+			while (!inflater.finished()) {
+				if (bytes == out.length) {
+					if (out.length >= MAX_LENGTH) {
+						throw new IllegalArgumentException(BAD_DATA);
+					}
+					out = Arrays.copyOf(out, Math.min(out.length << 1, MAX_LENGTH));
+				}
+
+				int n = inflater.inflate(out, bytes, out.length - bytes);
+				if (n == 0) {
+					if (inflater.needsDictionary() && dictionary != null) {
+						inflater.setDictionary(dictionary);
+					} else if (inflater.needsInput() || inflater.needsDictionary()) {
+						throw new IllegalArgumentException(BAD_DATA);
+					}
+				}
+				bytes += n;
+			}
+			return Arrays.copyOf(out, bytes);
+		} catch (DataFormatException e) {
+			throw new IllegalArgumentException(BAD_DATA, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		deflater.end();
+		inflater.end();
+	}
+}
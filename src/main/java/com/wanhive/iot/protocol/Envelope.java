@@ -0,0 +1,126 @@
+/*
+ * Envelope.java
+ * 
+ * Framing of the application data inside the payload
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+/**
+ * Describes the application data carried by a publication. The envelope is
+ * stored in the message header's label (see {@link Header#getLabel()}), which
+ * is zero for the ordinary publications, hence the payload carries only the
+ * data and a publication without an envelope is never mistaken for one. The
+ * label has the following layout (from the most significant byte):
+ * 
+ * <pre>
+ * [MAGIC: 1][FLAGS: 1][TRANSFER: 2][INDEX: 2][COUNT: 2]
+ * </pre>
+ * 
+ * TRANSFER identifies the data, INDEX and COUNT number the fragments which
+ * carry the data (see {@link Fragmenter} and {@link Reassembler}). FLAGS
+ * describe the transformations applied to the data, zero for none.
+ * 
+ * @author amit
+ *
+ */
+public final class Envelope {
+	/**
+	 * Identifies a label that carries an envelope
+	 */
+	public static final byte MAGIC = (byte) 0xA5;
+	/**
+	 * Flag: the data is a sequence of length prefixed records (see
+	 * {@link RecordBatcher})
+	 */
+	public static final byte RECORDS = 0x01;
+	/**
+	 * Flag: the data has been encoded by a {@link PayloadCodec}
+	 */
+	public static final byte COMPRESSED = 0x02;
+
+	private Envelope() {
+
+	}
+
+	/**
+	 * Writes an envelope into the header's label
+	 * 
+	 * @param header   The {@link Header} to write to
+	 * @param flags    The flags
+	 * @param transfer The transfer identifier
+	 * @param index    The fragment's index (starts from zero)
+	 * @param count    The number of fragments
+	 */
+	public static void write(Header header, byte flags, short transfer, short index, short count) {
+		header.setLabel(((long) (MAGIC & 0xFF) << 56) | ((long) (flags & 0xFF) << 48)
+				| ((long) (transfer & 0xFFFF) << 32) | ((long) (index & 0xFFFF) << 16) | (count & 0xFFFF));
+	}
+
+	/**
+	 * Checks whether the message carries an envelope
+	 * 
+	 * @param header The message's {@link Header}
+	 * @return true if the header's label carries an envelope, false otherwise
+	 */
+	public static boolean isPresent(Header header) {
+		return (byte) (header.getLabel() >>> 56) == MAGIC;
+	}
+
+	/**
+	 * Returns the flags
+	 * 
+	 * @param header The {@link Header} carrying an envelope
+	 * @return The flags
+	 */
+	public static byte getFlags(Header header) {
+		return (byte) (header.getLabel() >>> 48);
+	}
+
+	/**
+	 * Returns the transfer identifier
+	 * 
+	 * @param header The {@link Header} carrying an envelope
+	 * @return The transfer identifier
+	 */
+	public static short getTransfer(Header header) {
+		return (short) (header.getLabel() >>> 32);
+	}
+
+	/**
+	 * Returns the fragment's index
+	 * 
+	 * @param header The {@link Header} carrying an envelope
+	 * @return The fragment's index
+	 */
+	public static short getIndex(Header header) {
+		return (short) (header.getLabel() >>> 16);
+	}
+
+	/**
+	 * Returns the number of fragments
+	 * 
+	 * @param header The {@link Header} carrying an envelope
+	 * @return The fragments count
+	 */
+	public static short getCount(Header header) {
+		return (short) header.getLabel();
+	}
+}
@@ -23,21 +23,26 @@
  */
 package com.wanhive.iot.protocol;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
- * Sequence number and session management
+ * Sequence number and session management. The sequence numbers are allocated
+ * atomically, hence an instance can be shared by multiple threads.
  * 
  * @author amit
  *
  */
 public class FlowControl {
+	private static final AtomicIntegerFieldUpdater<FlowControl> SEQUENCE = AtomicIntegerFieldUpdater
+			.newUpdater(FlowControl.class, "sequenceNumber");
 	/**
 	 * Sequence number counter
 	 */
-	private short sequenceNumber;
+	private volatile int sequenceNumber;
 	/**
 	 * Session identifier
 	 */
-	private byte session;
+	private volatile byte session;
 
 	public FlowControl() {
 		setSequenceNumber((short) 0);
@@ -45,16 +50,37 @@ public class FlowControl {
 	}
 
 	/**
-	 * Increments the sequence number counter and returns the next value
+	 * Increments the sequence number counter and returns the next value. Wraps
+	 * around to one after {@link Short#MAX_VALUE}.
 	 * 
 	 * @return The next sequence number
 	 */
 	public short nextSequenceNumber() {
-		++sequenceNumber;
-		if (sequenceNumber <= 0) {
-			sequenceNumber = 1;
+		return (short) reserve(1);
+	}
+
+	/**
+	 * Atomically reserves a block of consecutive sequence numbers, the block
+	 * doesn't wrap around (see {@link SequenceAllocator}).
+	 * 
+	 * @param count The number of sequence numbers to reserve
+	 * @return The first sequence number of the block
+	 */
+	public int reserve(int count) {
+		if (count <= 0 || count > Short.MAX_VALUE) {
+			throw new IllegalArgumentException();
 		}
-		return sequenceNumber;
+
+		int current;
+		int first;
+		do {
+			current = sequenceNumber;
+			first = current + 1;
+			if (first <= 0 || first > Short.MAX_VALUE - count + 1) {
+				first = 1;
+			}
+		} while (!SEQUENCE.compareAndSet(this, current, first + count - 1));
+		return first;
 	}
 
 	/**
@@ -72,7 +98,7 @@ public class FlowControl {
 	 * @return The current sequence number
 	 */
 	public short getSequenceNumber() {
-		return sequenceNumber;
+		return (short) sequenceNumber;
 	}
 
 	/**
@@ -0,0 +1,96 @@
+/*
+ * FlushPolicy.java
+ * 
+ * Controls when the outgoing data is written out
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+/**
+ * Controls when the outgoing messages are written out. The messages are
+ * accumulated until either the byte threshold is reached or the maximum delay
+ * expires, whichever comes first. Without a threshold the delay alone bounds
+ * the accumulation (until the batch is full). The low latency mode disables
+ * the Nagle's algorithm (TCP_NODELAY) and writes out every message on its own.
+ * 
+ * @author amit
+ *
+ */
+public final class FlushPolicy {
+	/**
+	 * Writes out whatever is available without waiting (the default)
+	 */
+	public static final FlushPolicy DEFAULT = new FlushPolicy(0, 0, false);
+	/**
+	 * Sets TCP_NODELAY and writes out every message on its own
+	 */
+	public static final FlushPolicy LOW_LATENCY = new FlushPolicy(0, 0, true);
+
+	private final int threshold;
+	private final long maxDelay;
+	private final boolean noDelay;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param threshold The number of accumulated bytes which triggers a write
+	 *                  (zero for no threshold)
+	 * @param maxDelay  The maximum time (in microseconds) a message waits for
+	 *                  more messages before it is written out
+	 * @param noDelay   Set to true for the low latency mode (the threshold and
+	 *                  the delay are ignored)
+	 */
+	public FlushPolicy(int threshold, long maxDelay, boolean noDelay) {
+		if (threshold < 0 || maxDelay < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.threshold = threshold;
+		this.maxDelay = maxDelay;
+		this.noDelay = noDelay;
+	}
+
+	/**
+	 * Returns the number of accumulated bytes which triggers a write
+	 * 
+	 * @return The threshold in bytes, zero if not set
+	 */
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Returns the maximum time a message waits for more messages
+	 * 
+	 * @return The delay in microseconds
+	 */
+	public long getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * Checks whether the low latency mode is enabled
+	 * 
+	 * @return true if TCP_NODELAY is set and every message is written out on its
+	 *         own, false otherwise
+	 */
+	public boolean isNoDelay() {
+		return noDelay;
+	}
+}
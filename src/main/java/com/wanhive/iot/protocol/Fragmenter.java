@@ -0,0 +1,138 @@
+/*
+ * Fragmenter.java
+ * 
+ * Splits large publications into fragments
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.wanhive.iot.protocol.bean.MessageAddress;
+import com.wanhive.iot.protocol.bean.MessageControl;
+
+/**
+ * Splits the data which doesn't fit inside a single message into numbered
+ * fragments, each fragment is published in its own message. Every fragment
+ * carries an {@link Envelope} in its header, the subscribers put the data back
+ * together using a {@link Reassembler}. The first fragment's sequence number
+ * identifies the transfer, hence the transfers of all the fragmenters sharing a
+ * {@link Protocol} are distinct. The data is compressed before splitting if a
+ * {@link PayloadCodec} has been configured and the compression saves space.
+ * Not thread safe.
+ * 
+ * @author amit
+ *
+ */
+public class Fragmenter {
+	/**
+	 * The maximum number of data bytes carried by a fragment
+	 */
+	public static final int FRAGMENT_SIZE = Packet.PAYLOAD_SIZE;
+	/**
+	 * The maximum number of fragments
+	 */
+	public static final int MAX_FRAGMENTS = Short.MAX_VALUE;
+	private static final String BAD_DATA = "Data too large";
+	private final Protocol protocol;
+	/**
+	 * Compresses the data (null for none)
+	 */
+	private PayloadCodec codec;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param protocol The {@link Protocol} which supplies the messages and the
+	 *                 sequence numbers
+	 */
+	public Fragmenter(Protocol protocol) {
+		this.protocol = protocol;
+	}
+
+	/**
+	 * Sets the codec for compressing the data
+	 * 
+	 * @param codec The {@link PayloadCodec} (null to disable the compression)
+	 */
+	public void setCodec(PayloadCodec codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * Creates the publish requests carrying the given data
+	 * 
+	 * @param topic The topic identifier
+	 * @param data  The bytes of data to be published
+	 * @return The list of {@link Message}s carrying the fragments in order
+	 */
+	public List<Message> fragment(byte topic, byte[] data) {
+		return fragment(topic, data, 0, data.length);
+	}
+
+	/**
+	 * Creates the publish requests carrying the given data
+	 * 
+	 * @param topic  The topic identifier
+	 * @param data   The array containing the data to be published
+	 * @param offset The starting offset of the data within the array
+	 * @param length The data size in bytes
+	 * @return The list of {@link Message}s carrying the fragments in order
+	 */
+	public List<Message> fragment(byte topic, byte[] data, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > data.length - length) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		byte flags = 0;
+		if (codec != null) {
+			byte[] encoded = codec.encode(data, offset, length);
+			if (encoded.length < length) {
+				data = encoded;
+				offset = 0;
+				length = encoded.length;
+				flags = Envelope.COMPRESSED;
+			}
+		}
+
+		int count = (int) Packet.count(length);
+		if (count > MAX_FRAGMENTS) {
+			throw new IllegalArgumentException(BAD_DATA);
+		}
+
+		short id = 0;
+		List<Message> messages = new ArrayList<Message>(count);
+		for (int i = 0; i < count; i++) {
+			int size = Math.min(FRAGMENT_SIZE, length - i * FRAGMENT_SIZE);
+			short sn = protocol.nextSequenceNumber();
+			if (i == 0) {
+				id = sn;
+			}
+			Message message = protocol.newMessage();
+			MessageControl ctrl = new MessageControl((short) (Packet.HEADER_SIZE + size), sn, topic);
+			message.setHeader(new MessageAddress(), ctrl, RequestContext.PUBLISH);
+			Envelope.write(message.header(), flags, id, (short) i, (short) count);
+			message.payload().setBytes(0, data, offset + i * FRAGMENT_SIZE, size);
+			messages.add(message);
+		}
+		return messages;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Frame.java
+ * 
+ * Flyweight view of a received message
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flyweight view of a received message. The {@link Header} and the
+ * {@link Payload} are repositioned over each message inside the connection's
+ * shared receive buffer, hence no data is copied. A frame remains valid only
+ * until the next receive call on the same connection, use {@link #copy()} to
+ * keep the message for longer.
+ * 
+ * @author amit
+ *
+ */
+public final class Frame {
+	/**
+	 * A private view of the shared buffer
+	 */
+	private final ByteBuffer buffer;
+	private final Header header;
+	private final Payload payload;
+	/**
+	 * Source of the copies (null for allocation)
+	 */
+	private MessagePool pool;
+	/**
+	 * Offset to the message within the buffer
+	 */
+	private int offset;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param source The shared buffer
+	 */
+	Frame(ByteBuffer source) {
+		buffer = source.duplicate();
+		header = new Header(buffer);
+		payload = new Payload(buffer, Packet.HEADER_SIZE);
+	}
+
+	/**
+	 * Constructor: creates a view of a {@link Message}
+	 * 
+	 * @param message The {@link Message} to view
+	 */
+	Frame(Message message) {
+		this(message.buffer());
+		wrap(0, message.header().getLength(), null);
+	}
+
+	/**
+	 * Moves the view over a message inside the shared buffer
+	 * 
+	 * @param offset Offset to the message within the buffer
+	 * @param length The message length
+	 * @param pool   The {@link MessagePool} for the copies (can be null)
+	 */
+	void wrap(int offset, int length, MessagePool pool) {
+		this.offset = offset;
+		this.pool = pool;
+		buffer.limit(buffer.capacity());
+		buffer.position(offset);
+		buffer.limit(offset + length);
+		header.reposition(offset);
+		payload.reposition(offset + Packet.HEADER_SIZE);
+	}
+
+	/**
+	 * Returns the header
+	 * 
+	 * @return The {@link Header}
+	 */
+	public Header header() {
+		return header;
+	}
+
+	/**
+	 * Returns the payload
+	 * 
+	 * @return The {@link Payload}
+	 */
+	public Payload payload() {
+		return payload;
+	}
+
+	/**
+	 * Copies the message into a new {@link Message}, taken from the connection's
+	 * {@link MessagePool} if one is configured
+	 * 
+	 * @return A {@link Message} containing a copy of the frame
+	 */
+	public Message copy() {
+		return copyTo((pool != null) ? pool.acquire() : new Message());
+	}
+
+	/**
+	 * Copies the message into another message
+	 * 
+	 * @param dst The destination {@link Message}
+	 * @return The destination {@link Message}
+	 */
+	public Message copyTo(Message dst) {
+		try {
+			dst.readFrom(buffer, buffer.limit() - offset);
+			return dst;
+		} finally {
+			buffer.position(offset);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * FrameDecoder.java
+ * 
+ * Buffered decoder of the incoming messages
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Buffered decoder of the incoming messages. Reads as much data as available
+ * into a large buffer and slices out every complete message using the length
+ * field of the header. Handles the messages split across the reads.
+ * 
+ * @author amit
+ *
+ */
+class FrameDecoder {
+	private static final String BAD_MESSAGE = "Invalid message";
+	/**
+	 * Offset of the length field inside the header
+	 */
+	private static final int LENGTH_OFFSET = 24;
+	/**
+	 * Stores the received data, always in the "read" mode
+	 */
+	private final ByteBuffer buffer;
+	/**
+	 * The flyweight view of the buffered messages (created on demand)
+	 */
+	private Frame frame;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param capacity The buffer size in bytes (at least {@link Packet#MTU})
+	 * @param direct   If true then a direct buffer is allocated
+	 */
+	FrameDecoder(int capacity, boolean direct) {
+		if (capacity < Packet.MTU) {
+			throw new IllegalArgumentException();
+		}
+		buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+		buffer.limit(0);
+	}
+
+	/**
+	 * Reads the available data from a channel
+	 * 
+	 * @param channel The {@link ReadableByteChannel} to read from
+	 * @return The number of bytes read, possibly zero, or -1 on end-of-stream
+	 * @throws IOException
+	 */
+	int fill(ReadableByteChannel channel) throws IOException {
+		prepare();
+		try {
+			return channel.read(buffer);
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	/**
+	 * Reads the available data from a stream (requires a heap buffer)
+	 * 
+	 * @param in The {@link InputStream} to read from
+	 * @return The number of bytes read, or -1 on end-of-stream
+	 * @throws IOException
+	 */
+	int fill(InputStream in) throws IOException {
+		prepare();
+		try {
+			int bytes = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			if (bytes > 0) {
+				buffer.position(buffer.position() + bytes);
+			}
+			return bytes;
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	/**
+	 * Checks whether a complete message is available. Also returns true if the
+	 * buffered header is invalid, in which case {@link #nextFrame(MessagePool)}
+	 * fails.
+	 * 
+	 * @return true if {@link #nextFrame(MessagePool)} will not return null, false
+	 *         otherwise
+	 */
+	boolean hasFrame() {
+		int available = buffer.remaining();
+		if (available < Packet.HEADER_SIZE) {
+			return false;
+		} else {
+			int length = buffer.getShort(buffer.position() + LENGTH_OFFSET);
+			return !Packet.isValidLength(length) || available >= length;
+		}
+	}
+
+	/**
+	 * Moves the flyweight view over the next complete message, skips it. The
+	 * returned {@link Frame} is valid until the next call to any method of this
+	 * decoder.
+	 * 
+	 * @param pool The {@link MessagePool} for the copies of the {@link Frame}
+	 *             (can be null)
+	 * @return The {@link Frame}, null if a complete message is not available
+	 * @throws ProtocolException Invalid message length
+	 */
+	Frame nextFrame(MessagePool pool) throws ProtocolException {
+		int length = nextLength();
+		if (length == 0) {
+			return null;
+		}
+
+		if (frame == null) {
+			frame = new Frame(buffer);
+		}
+		frame.wrap(buffer.position(), length, pool);
+		buffer.position(buffer.position() + length);
+		return frame;
+	}
+
+	/**
+	 * Discards the buffered data
+	 */
+	void clear() {
+		buffer.clear();
+		buffer.limit(0);
+	}
+
+	/**
+	 * Returns the length of the next complete message
+	 * 
+	 * @return The message length, zero if a complete message is not available
+	 * @throws ProtocolException Invalid message length
+	 */
+	private int nextLength() throws ProtocolException {
+		if (!hasFrame()) {
+			return 0;
+		}
+
+		int length = buffer.getShort(buffer.position() + LENGTH_OFFSET);
+		if (!Packet.isValidLength(length)) {
+			throw new ProtocolException(BAD_MESSAGE);
+		} else {
+			return length;
+		}
+	}
+
+	/**
+	 * Makes room for more data, switches the buffer into the "write" mode
+	 */
+	private void prepare() {
+		if (buffer.position() == buffer.limit()) {
+			buffer.clear();
+		} else {
+			buffer.compact();
+		}
+	}
+}
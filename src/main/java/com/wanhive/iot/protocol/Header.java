@@ -37,6 +37,10 @@ public class Header {
 	 * Stores the message data
 	 */
 	private final ByteBuffer buffer;
+	/**
+	 * Offset to the header within the buffer
+	 */
+	private int offset;
 
 	/**
 	 * Constructor
@@ -47,13 +51,22 @@ public class Header {
 		this.buffer = buffer;
 	}
 
+	/**
+	 * Moves the header to a different location within the buffer
+	 * 
+	 * @param offset Offset to the header within the buffer
+	 */
+	void reposition(int offset) {
+		this.offset = offset;
+	}
+
 	/**
 	 * Returns the label
 	 * 
 	 * @return The label
 	 */
 	public long getLabel() {
-		return buffer.getLong(0);
+		return buffer.getLong(offset);
 	}
 
 	/**
@@ -63,7 +76,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setLabel(long label) {
-		buffer.putLong(0, label);
+		buffer.putLong(offset, label);
 		return this;
 	}
 
@@ -73,7 +86,7 @@ public class Header {
 	 * @return The source identifier
 	 */
 	public long getSource() {
-		return buffer.getLong(8);
+		return buffer.getLong(offset + 8);
 	}
 
 	/**
@@ -83,7 +96,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setSource(long source) {
-		buffer.putLong(8, source);
+		buffer.putLong(offset + 8, source);
 		return this;
 	}
 
@@ -93,7 +106,7 @@ public class Header {
 	 * @return The destination identifier
 	 */
 	public long getDestination() {
-		return buffer.getLong(16);
+		return buffer.getLong(offset + 16);
 	}
 
 	/**
@@ -103,7 +116,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setDestination(long destination) {
-		buffer.putLong(16, destination);
+		buffer.putLong(offset + 16, destination);
 		return this;
 	}
 
@@ -113,7 +126,7 @@ public class Header {
 	 * @return The message length in bytes
 	 */
 	public short getLength() {
-		return buffer.getShort(24);
+		return buffer.getShort(offset + 24);
 	}
 
 	/**
@@ -124,8 +137,8 @@ public class Header {
 	 */
 	public Header setLength(short length) {
 		if (Packet.isValidLength(length)) {
-			buffer.limit(length);
-			buffer.putShort(24, length);
+			buffer.limit(offset + length);
+			buffer.putShort(offset + 24, length);
 			return this;
 		} else {
 			throw new IllegalArgumentException(BAD_LENGTH);
@@ -138,7 +151,7 @@ public class Header {
 	 * @return The sequence number
 	 */
 	public short getSequenceNumber() {
-		return buffer.getShort(26);
+		return buffer.getShort(offset + 26);
 	}
 
 	/**
@@ -148,7 +161,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setSequenceNumber(short sequenceNumber) {
-		buffer.putShort(26, sequenceNumber);
+		buffer.putShort(offset + 26, sequenceNumber);
 		return this;
 	}
 
@@ -158,7 +171,7 @@ public class Header {
 	 * @return The session identifier
 	 */
 	public byte getSession() {
-		return buffer.get(28);
+		return buffer.get(offset + 28);
 	}
 
 	/**
@@ -168,7 +181,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setSession(byte session) {
-		buffer.put(28, session);
+		buffer.put(offset + 28, session);
 		return this;
 	}
 
@@ -178,7 +191,7 @@ public class Header {
 	 * @return The command classifier
 	 */
 	public byte getCommand() {
-		return buffer.get(29);
+		return buffer.get(offset + 29);
 	}
 
 	/**
@@ -188,7 +201,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setCommand(byte command) {
-		buffer.put(29, command);
+		buffer.put(offset + 29, command);
 		return this;
 	}
 
@@ -198,7 +211,7 @@ public class Header {
 	 * @return The command qualifier
 	 */
 	public byte getQualifier() {
-		return buffer.get(30);
+		return buffer.get(offset + 30);
 	}
 
 	/**
@@ -208,7 +221,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setQualifier(byte qualifier) {
-		buffer.put(30, qualifier);
+		buffer.put(offset + 30, qualifier);
 		return this;
 	}
 
@@ -218,7 +231,7 @@ public class Header {
 	 * @return The status code
 	 */
 	public byte getStatus() {
-		return buffer.get(31);
+		return buffer.get(offset + 31);
 	}
 
 	/**
@@ -228,7 +241,7 @@ public class Header {
 	 * @return {@code this} {@link Header}
 	 */
 	public Header setStatus(byte status) {
-		buffer.put(31, status);
+		buffer.put(offset + 31, status);
 		return this;
 	}
 }
@@ -24,7 +24,10 @@
 
 package com.wanhive.iot.protocol;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import com.wanhive.iot.protocol.bean.MessageAddress;
 import com.wanhive.iot.protocol.bean.MessageContext;
@@ -32,12 +35,17 @@ import com.wanhive.iot.protocol.bean.MessageControl;
 import com.wanhive.iot.protocol.bean.MessageHeader;
 
 /**
- * Wanhive's data packet implementation
+ * Wanhive's data packet implementation. The messages taken from a
+ * {@link MessagePool} are reference counted, the other messages ignore the
+ * reference counting.
  * 
  * @author amit
  *
  */
 public class Message {
+	private static final String BAD_RELEASE = "Message already released";
+	private static final AtomicIntegerFieldUpdater<Message> REFERENCES = AtomicIntegerFieldUpdater
+			.newUpdater(Message.class, "references");
 	/**
 	 * Serialized message data
 	 */
@@ -50,27 +58,244 @@ public class Message {
 	 * The payload
 	 */
 	private final Payload payload;
+	/**
+	 * The owner pool (null if not pooled)
+	 */
+	private final MessagePool pool;
+	/**
+	 * The reference count
+	 */
+	private volatile int references = 1;
 
 	/**
-	 * Returns the backing array that stores the message data
+	 * Returns the buffer that stores the message data. The buffer's position is
+	 * zero and the limit is equal to the message's length.
 	 * 
-	 * @return The byte array that stores the message data
+	 * @return The {@link ByteBuffer} that stores the message data
 	 */
-	byte[] getBuffer() {
-		return buffer.array();
+	ByteBuffer buffer() {
+		return buffer;
+	}
+
+	/**
+	 * Copies the serialized message into a buffer. The message's own buffer is
+	 * not modified, hence a retained message can be written out by several
+	 * threads at the same time.
+	 * 
+	 * @param dst The destination {@link ByteBuffer} (must have enough space)
+	 */
+	void writeTo(ByteBuffer dst) {
+		if (buffer.hasArray()) {
+			dst.put(buffer.array(), buffer.arrayOffset(), buffer.limit());
+		} else {
+			dst.put(buffer.duplicate());
+		}
+	}
+
+	/**
+	 * Copies the serialized message into an array. The message's own buffer is
+	 * not modified.
+	 * 
+	 * @param dst    The destination array (must have enough space)
+	 * @param offset The starting offset within the destination array
+	 */
+	void writeTo(byte[] dst, int offset) {
+		if (buffer.hasArray()) {
+			System.arraycopy(buffer.array(), buffer.arrayOffset(), dst, offset, buffer.limit());
+		} else {
+			buffer.duplicate().get(dst, offset, buffer.limit());
+		}
+	}
+
+	/**
+	 * Writes out the serialized message (requires a heap buffer)
+	 * 
+	 * @param out The {@link OutputStream} to write to
+	 * @throws IOException
+	 */
+	void writeTo(OutputStream out) throws IOException {
+		out.write(buffer.array(), buffer.arrayOffset(), buffer.limit());
+	}
+
+	/**
+	 * Copies a serialized message from a buffer, sets the length
+	 * 
+	 * @param src    The source {@link ByteBuffer}, its position is advanced by
+	 *               the given length
+	 * @param length The message length
+	 */
+	void readFrom(ByteBuffer src, int length) {
+		if (src.hasArray()) {
+			readFrom(src.array(), src.arrayOffset() + src.position(), length);
+			src.position(src.position() + length);
+			return;
+		}
+
+		int limit = src.limit();
+		buffer.clear();
+		try {
+			src.limit(src.position() + length);
+			buffer.put(src);
+		} finally {
+			src.limit(limit);
+			buffer.position(0);
+			header.setLength((short) length);
+		}
+	}
+
+	/**
+	 * Copies a serialized message from an array, sets the length
+	 * 
+	 * @param src    The source array
+	 * @param offset The starting offset within the source array
+	 * @param length The message length
+	 */
+	void readFrom(byte[] src, int offset, int length) {
+		if (buffer.hasArray()) {
+			System.arraycopy(src, offset, buffer.array(), buffer.arrayOffset(), length);
+		} else {
+			buffer.clear();
+			try {
+				buffer.put(src, offset, length);
+			} finally {
+				buffer.position(0);
+			}
+		}
+		header.setLength((short) length);
 	}
 
 	/**
 	 * Create a new {@link Message}. MTU is the default message length.
 	 */
 	public Message() {
-		buffer = ByteBuffer.allocate(Packet.MTU);
+		this(null);
+	}
+
+	/**
+	 * Create a new {@link Message} owned by a pool
+	 * 
+	 * @param pool The owner {@link MessagePool}, can be null
+	 */
+	Message(MessagePool pool) {
+		this(ByteBuffer.allocate(Packet.MTU), pool);
+	}
+
+	/**
+	 * Create a new {@link Message} using the given buffer, for example a direct
+	 * buffer carved from a slab
+	 * 
+	 * @param buffer The {@link ByteBuffer} to store the message data, at least
+	 *               {@link Packet#MTU} bytes long
+	 * @param pool   The owner {@link MessagePool}, can be null
+	 */
+	Message(ByteBuffer buffer, MessagePool pool) {
+		if (buffer.capacity() < Packet.MTU) {
+			throw new IllegalArgumentException();
+		}
+		this.pool = pool;
+		this.buffer = buffer;
 		header = new Header(buffer);
 		payload = new Payload(buffer, Packet.HEADER_SIZE);
 		header.setLength((short) Packet.MTU);
 		header.setLabel(0);
 	}
 
+	/**
+	 * Prepares a recycled message for reuse
+	 */
+	void reset() {
+		for (int i = 0; i < Packet.HEADER_SIZE; i += 8) {
+			buffer.putLong(i, 0);
+		}
+		header.setLength((short) Packet.MTU);
+		references = 1;
+	}
+
+	/**
+	 * Increments the reference count. Call {@link #release()} when done.
+	 * 
+	 * @return {@code this} {@link Message}
+	 */
+	public Message retain() {
+		if (pool != null) {
+			int refs;
+			do {
+				refs = references;
+				if (refs <= 0) {
+					throw new IllegalStateException(BAD_RELEASE);
+				}
+			} while (!REFERENCES.compareAndSet(this, refs, refs + 1));
+		}
+		return this;
+	}
+
+	/**
+	 * Decrements the reference count, the message returns to its pool when the
+	 * count drops to zero. The message should not be used after the final
+	 * release.
+	 * 
+	 * @return true if the message was recycled, false otherwise
+	 */
+	public boolean release() {
+		if (pool == null) {
+			return false;
+		}
+
+		int refs = REFERENCES.decrementAndGet(this);
+		if (refs == 0) {
+			pool.recycle(this);
+			return true;
+		} else if (refs < 0) {
+			references = 0;
+			throw new IllegalStateException(BAD_RELEASE);
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Copies this message into another message. Only the message's length worth
+	 * of bytes are copied.
+	 * 
+	 * @param dst The destination {@link Message}
+	 * @return The destination {@link Message}
+	 */
+	public Message copyTo(Message dst) {
+		if (dst != this) {
+			int length = header.getLength();
+			if (buffer.hasArray()) {
+				dst.readFrom(buffer.array(), buffer.arrayOffset(), length);
+			} else {
+				dst.readFrom(buffer.duplicate(), length);
+			}
+		}
+		return dst;
+	}
+
+	/**
+	 * Creates an independent copy of this message, taken from the same
+	 * {@link MessagePool} if this message is pooled
+	 * 
+	 * @return A new {@link Message} with the same content
+	 */
+	public Message duplicate() {
+		return copyTo((pool != null) ? pool.acquire() : new Message());
+	}
+
+	/**
+	 * Rewrites the source and the destination in place, for example before
+	 * forwarding the message. The other header fields and the payload are not
+	 * modified.
+	 * 
+	 * @param source      The new source identifier
+	 * @param destination The new destination identifier
+	 * @return {@code this} {@link Message}
+	 */
+	public Message setAddress(long source, long destination) {
+		header.setSource(source).setDestination(destination);
+		return this;
+	}
+
 	/**
 	 * Populates the header. Doesn't modify the label.
 	 * 
@@ -112,6 +337,15 @@ public class Message {
 		return setHeader(header.getLabel(), header.getAddress(), header.getControl(), header.getContext());
 	}
 
+	/**
+	 * Checks whether the message data is stored outside of the heap
+	 * 
+	 * @return true if the message is backed by a direct buffer, false otherwise
+	 */
+	public boolean isDirect() {
+		return buffer.isDirect();
+	}
+
 	/**
 	 * Returns the header
 	 * 
@@ -0,0 +1,152 @@
+/*
+ * MessagePool.java
+ * 
+ * Bounded pool of reusable messages
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, thread safe pool of reference counted messages. A message taken from
+ * the pool returns to it when its reference count drops to zero (see
+ * {@link Message#retain()} and {@link Message#release()}). Allocates a new
+ * message if the pool is empty, drops the released messages if the pool is
+ * full. The direct (off-heap) messages are carved from large slabs of native
+ * memory, the NIO transports write them out without an intermediate heap copy.
+ * 
+ * @author amit
+ *
+ */
+public class MessagePool {
+	/**
+	 * The number of messages carved from a single slab
+	 */
+	private static final int SLAB_MESSAGES = 256;
+	private final int capacity;
+	private final boolean direct;
+	/**
+	 * The current slab (direct pools only)
+	 */
+	private ByteBuffer slab;
+	private final Queue<Message> messages = new ConcurrentLinkedQueue<Message>();
+	private final AtomicInteger count = new AtomicInteger(0);
+
+	/**
+	 * Constructor
+	 * 
+	 * @param capacity The maximum number of idle messages in the pool (see the
+	 *                 messagePoolSize configuration key)
+	 */
+	public MessagePool(int capacity) {
+		this(capacity, false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param capacity The maximum number of idle messages in the pool (see the
+	 *                 messagePoolSize configuration key)
+	 * @param direct   If true then the messages are backed by the direct
+	 *                 buffers, otherwise by the heap buffers
+	 */
+	public MessagePool(int capacity, boolean direct) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+		this.direct = direct;
+	}
+
+	/**
+	 * Takes a message from the pool. The message's length is set to
+	 * {@link Packet#MTU}, label and the remaining header fields are set to zero,
+	 * the payload's content is undefined.
+	 * 
+	 * @return A {@link Message} with the reference count of one
+	 */
+	public Message acquire() {
+		Message message = messages.poll();
+		if (message != null) {
+			count.decrementAndGet();
+			message.reset();
+			return message;
+		} else {
+			return direct ? new Message(carve(), this) : new Message(this);
+		}
+	}
+
+	/**
+	 * Checks whether the messages are backed by the direct buffers
+	 * 
+	 * @return true if the messages are stored outside of the heap, false
+	 *         otherwise
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+
+	/**
+	 * Returns the number of idle messages in the pool
+	 * 
+	 * @return The number of messages available for reuse
+	 */
+	public int size() {
+		return count.get();
+	}
+
+	/**
+	 * Returns a message to the pool, called when the message's reference count
+	 * drops to zero
+	 * 
+	 * @param message The {@link Message} to recycle
+	 */
+	void recycle(Message message) {
+		if (count.incrementAndGet() <= capacity) {
+			messages.offer(message);
+		} else {
+			count.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Carves a message sized buffer out of the current slab, allocates a new slab
+	 * if the current one is exhausted. A slab is freed after all the messages
+	 * carved from it have been garbage collected.
+	 * 
+	 * @return A direct {@link ByteBuffer} of {@link Packet#MTU} bytes
+	 */
+	private synchronized ByteBuffer carve() {
+		if (slab == null || slab.remaining() < Packet.MTU) {
+			slab = ByteBuffer.allocateDirect(SLAB_MESSAGES * Packet.MTU);
+		}
+
+		int position = slab.position();
+		slab.limit(position + Packet.MTU);
+		ByteBuffer buffer = slab.slice();
+		slab.position(slab.limit());
+		slab.limit(slab.capacity());
+		return buffer;
+	}
+}
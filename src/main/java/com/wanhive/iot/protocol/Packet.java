@@ -42,6 +42,11 @@ public class Packet {
 	 * The maximum payload size in bytes
 	 */
 	public static final int PAYLOAD_SIZE = (MTU - HEADER_SIZE);
+	/**
+	 * Default size of the buffers which coalesce the outgoing packets (the
+	 * largest TLS record)
+	 */
+	public static final int BATCH_SIZE = (16 * MTU);
 
 	/**
 	 * Validates the packet length
@@ -39,7 +39,7 @@ public class Payload {
 	/**
 	 * Offset to the data section within the buffer
 	 */
-	private final int offset;
+	private int offset;
 
 	/**
 	 * Constructor
@@ -52,6 +52,15 @@ public class Payload {
 		this.offset = offset;
 	}
 
+	/**
+	 * Moves the payload to a different location within the buffer
+	 * 
+	 * @param offset Data offset inside the buffer
+	 */
+	void reposition(int offset) {
+		this.offset = offset;
+	}
+
 	/**
 	 * Reads a byte value from the given index
 	 * 
@@ -192,15 +201,9 @@ public class Payload {
 	 * @return The byte array at the given index
 	 */
 	public byte[] getBlob(int index, int length) {
-		int p = buffer.position();
-		try {
-			buffer.position(offset + index);
-			byte[] blob = new byte[length];
-			buffer.get(blob);
-			return blob;
-		} finally {
-			buffer.position(p);
-		}
+		byte[] blob = new byte[length];
+		getBytes(index, blob, 0, length);
+		return blob;
 	}
 
 	/**
@@ -210,13 +213,7 @@ public class Payload {
 	 * @param blob  The byte array where the bytes will be copied
 	 */
 	public void getBlob(int index, byte[] blob) {
-		int p = buffer.position();
-		try {
-			buffer.position(offset + index);
-			buffer.get(blob);
-		} finally {
-			buffer.position(p);
-		}
+		getBytes(index, blob, 0, blob.length);
 	}
 
 	/**
@@ -227,13 +224,209 @@ public class Payload {
 	 * @return {@code this} {@link Payload}
 	 */
 	public Payload setBlob(int index, byte[] blob) {
-		int p = buffer.position();
-		try {
-			buffer.position(offset + index);
-			buffer.put(blob);
-			return this;
-		} finally {
-			buffer.position(p);
+		return setBytes(index, blob, 0, blob.length);
+	}
+
+	/**
+	 * Copies a sequence of bytes from the given index into an array
+	 * 
+	 * @param index  The index from which the bytes will be read
+	 * @param dst    The destination array
+	 * @param off    The starting offset within the destination array
+	 * @param length The number of bytes to copy
+	 */
+	public void getBytes(int index, byte[] dst, int off, int length) {
+		int from = locate(index, length);
+		if (buffer.hasArray()) {
+			System.arraycopy(buffer.array(), buffer.arrayOffset() + from, dst, off, length);
+		} else {
+			view(from, length).get(dst, off, length);
+		}
+	}
+
+	/**
+	 * Copies a sequence of bytes from an array at the given index
+	 * 
+	 * @param index  The index at which the bytes will be written
+	 * @param src    The source array
+	 * @param off    The starting offset within the source array
+	 * @param length The number of bytes to copy
+	 * @return {@code this} {@link Payload}
+	 */
+	public Payload setBytes(int index, byte[] src, int off, int length) {
+		int to = locate(index, length);
+		if (buffer.hasArray()) {
+			System.arraycopy(src, off, buffer.array(), buffer.arrayOffset() + to, length);
+		} else {
+			view(to, length).put(src, off, length);
+		}
+		return this;
+	}
+
+	/**
+	 * Copies a sequence of bytes from the given index into a buffer
+	 * 
+	 * @param index The index from which the bytes will be read
+	 * @param dst   The destination {@link ByteBuffer}, its remaining bytes are
+	 *              filled and the position is advanced accordingly
+	 */
+	public void getBytes(int index, ByteBuffer dst) {
+		int length = dst.remaining();
+		dst.put(view(locate(index, length), length));
+	}
+
+	/**
+	 * Copies a sequence of bytes from a buffer at the given index
+	 * 
+	 * @param index The index at which the bytes will be written
+	 * @param src   The source {@link ByteBuffer}, its remaining bytes are copied
+	 *              and the position is advanced accordingly
+	 * @return {@code this} {@link Payload}
+	 */
+	public Payload setBytes(int index, ByteBuffer src) {
+		int length = src.remaining();
+		view(locate(index, length), length).put(src);
+		return this;
+	}
+
+	/**
+	 * Reads a sequence of short values from the given index
+	 * 
+	 * @param index  The index from which the values will be read
+	 * @param dst    The destination array
+	 * @param off    The starting offset within the destination array
+	 * @param length The number of values to read
+	 */
+	public void getShorts(int index, short[] dst, int off, int length) {
+		int bytes = length << 1;
+		view(locate(index, bytes), bytes).asShortBuffer().get(dst, off, length);
+	}
+
+	/**
+	 * Writes a sequence of short values at the given index
+	 * 
+	 * @param index  The index at which the values will be written
+	 * @param src    The source array
+	 * @param off    The starting offset within the source array
+	 * @param length The number of values to write
+	 * @return {@code this} {@link Payload}
+	 */
+	public Payload setShorts(int index, short[] src, int off, int length) {
+		int bytes = length << 1;
+		view(locate(index, bytes), bytes).asShortBuffer().put(src, off, length);
+		return this;
+	}
+
+	/**
+	 * Reads a sequence of int values from the given index
+	 * 
+	 * @param index  The index from which the values will be read
+	 * @param dst    The destination array
+	 * @param off    The starting offset within the destination array
+	 * @param length The number of values to read
+	 */
+	public void getInts(int index, int[] dst, int off, int length) {
+		int bytes = length << 2;
+		view(locate(index, bytes), bytes).asIntBuffer().get(dst, off, length);
+	}
+
+	/**
+	 * Writes a sequence of int values at the given index
+	 * 
+	 * @param index  The index at which the values will be written
+	 * @param src    The source array
+	 * @param off    The starting offset within the source array
+	 * @param length The number of values to write
+	 * @return {@code this} {@link Payload}
+	 */
+	public Payload setInts(int index, int[] src, int off, int length) {
+		int bytes = length << 2;
+		view(locate(index, bytes), bytes).asIntBuffer().put(src, off, length);
+		return this;
+	}
+
+	/**
+	 * Reads a sequence of long values from the given index
+	 * 
+	 * @param index  The index from which the values will be read
+	 * @param dst    The destination array
+	 * @param off    The starting offset within the destination array
+	 * @param length The number of values to read
+	 */
+	public void getLongs(int index, long[] dst, int off, int length) {
+		int bytes = length << 3;
+		view(locate(index, bytes), bytes).asLongBuffer().get(dst, off, length);
+	}
+
+	/**
+	 * Writes a sequence of long values at the given index
+	 * 
+	 * @param index  The index at which the values will be written
+	 * @param src    The source array
+	 * @param off    The starting offset within the source array
+	 * @param length The number of values to write
+	 * @return {@code this} {@link Payload}
+	 */
+	public Payload setLongs(int index, long[] src, int off, int length) {
+		int bytes = length << 3;
+		view(locate(index, bytes), bytes).asLongBuffer().put(src, off, length);
+		return this;
+	}
+
+	/**
+	 * Reads a sequence of double values from the given index
+	 * 
+	 * @param index  The index from which the values will be read
+	 * @param dst    The destination array
+	 * @param off    The starting offset within the destination array
+	 * @param length The number of values to read
+	 */
+	public void getDoubles(int index, double[] dst, int off, int length) {
+		int bytes = length << 3;
+		view(locate(index, bytes), bytes).asDoubleBuffer().get(dst, off, length);
+	}
+
+	/**
+	 * Writes a sequence of double values at the given index
+	 * 
+	 * @param index  The index at which the values will be written
+	 * @param src    The source array
+	 * @param off    The starting offset within the source array
+	 * @param length The number of values to write
+	 * @return {@code this} {@link Payload}
+	 */
+	public Payload setDoubles(int index, double[] src, int off, int length) {
+		int bytes = length << 3;
+		view(locate(index, bytes), bytes).asDoubleBuffer().put(src, off, length);
+		return this;
+	}
+
+	/**
+	 * Checks the bounds once for a bulk operation
+	 * 
+	 * @param index The index inside the payload
+	 * @param bytes The number of bytes to access
+	 * @return The absolute position inside the buffer
+	 */
+	private int locate(int index, int bytes) {
+		int from = offset + index;
+		if (index < 0 || bytes < 0 || from > buffer.limit() - bytes) {
+			throw new IndexOutOfBoundsException();
 		}
+		return from;
+	}
+
+	/**
+	 * Creates a private view of a region of the buffer, hence the bulk operations
+	 * leave the shared buffer's position and limit untouched.
+	 * 
+	 * @param from  The absolute position inside the buffer
+	 * @param bytes The size of the region
+	 * @return A {@link ByteBuffer} over the region
+	 */
+	private ByteBuffer view(int from, int bytes) {
+		ByteBuffer view = buffer.duplicate();
+		view.limit(from + bytes).position(from);
+		return view.order(buffer.order());
 	}
 }
@@ -0,0 +1,56 @@
+/*
+ * PayloadCodec.java
+ * 
+ * Reversible transformation of the published data
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+/**
+ * Reversible transformation (compression) of the published data. The
+ * {@link Fragmenter} encodes the data before splitting it and sets the
+ * {@link Envelope#COMPRESSED} flag, the {@link Reassembler} decodes the data
+ * after putting it back together.
+ * 
+ * @author amit
+ *
+ */
+public interface PayloadCodec {
+	/**
+	 * Encodes the data
+	 * 
+	 * @param data   The array containing the data
+	 * @param offset The starting offset of the data within the array
+	 * @param length The data size in bytes
+	 * @return The encoded data
+	 */
+	byte[] encode(byte[] data, int offset, int length);
+
+	/**
+	 * Decodes the data
+	 * 
+	 * @param data   The array containing the encoded data
+	 * @param offset The starting offset of the encoded data within the array
+	 * @param length The encoded data size in bytes
+	 * @return The decoded data
+	 * @throws IllegalArgumentException if the data is malformed
+	 */
+	byte[] decode(byte[] data, int offset, int length);
+}
@@ -0,0 +1,326 @@
+/*
+ * PayloadReader.java
+ * 
+ * Sequential reader of the compact payload fields
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+/**
+ * Sequential, cursor based reader of the payload fields written by a
+ * {@link PayloadWriter}. Works over the payload of a {@link Message} as well as
+ * a {@link Frame}.
+ * 
+ * @author amit
+ *
+ */
+public final class PayloadReader {
+	private static final String BAD_DATA = "Malformed data";
+	private final Payload payload;
+	private final int limit;
+	private int position;
+
+	/**
+	 * Constructor: starts reading at the beginning of the payload
+	 * 
+	 * @param payload The {@link Payload} to read from
+	 * @param length  The payload length (message length minus
+	 *                {@link Packet#HEADER_SIZE})
+	 */
+	public PayloadReader(Payload payload, int length) {
+		this(payload, 0, length);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param payload The {@link Payload} to read from
+	 * @param index   The index at which reading starts
+	 * @param length  The payload length (message length minus
+	 *                {@link Packet#HEADER_SIZE})
+	 */
+	public PayloadReader(Payload payload, int index, int length) {
+		if (length < 0 || length > Packet.PAYLOAD_SIZE || index < 0 || index > length) {
+			throw new IllegalArgumentException();
+		}
+		this.payload = payload;
+		this.position = index;
+		this.limit = length;
+	}
+
+	/**
+	 * Returns the current position (index of the next field)
+	 * 
+	 * @return The current position
+	 */
+	public int position() {
+		return position;
+	}
+
+	/**
+	 * Checks whether more fields are available
+	 * 
+	 * @return true if some data is left unread, false otherwise
+	 */
+	public boolean hasRemaining() {
+		return position < limit;
+	}
+
+	/**
+	 * Returns the number of unread bytes
+	 * 
+	 * @return The number of bytes left in the payload
+	 */
+	public int remaining() {
+		return limit - position;
+	}
+
+	/**
+	 * Reads a byte value
+	 * 
+	 * @return The byte value
+	 */
+	public byte readByte() {
+		check(1);
+		return payload.getByte(position++);
+	}
+
+	/**
+	 * Reads a sequence of bytes
+	 * 
+	 * @param dst    The destination array
+	 * @param off    The starting offset within the destination array
+	 * @param length The number of bytes to read
+	 */
+	public void readBytes(byte[] dst, int off, int length) {
+		check(length);
+		payload.getBytes(position, dst, off, length);
+		position += length;
+	}
+
+	/**
+	 * Reads a fixed width (two bytes) short value
+	 * 
+	 * @return The short value
+	 */
+	public short readShort() {
+		check(2);
+		short value = payload.getShort(position);
+		position += 2;
+		return value;
+	}
+
+	/**
+	 * Reads a fixed width (four bytes) int value
+	 * 
+	 * @return The int value
+	 */
+	public int readInt() {
+		check(4);
+		int value = payload.getInt(position);
+		position += 4;
+		return value;
+	}
+
+	/**
+	 * Reads a fixed width (eight bytes) long value
+	 * 
+	 * @return The long value
+	 */
+	public long readLong() {
+		check(8);
+		long value = payload.getLong(position);
+		position += 8;
+		return value;
+	}
+
+	/**
+	 * Reads a fixed width (four bytes) float value
+	 * 
+	 * @return The float value
+	 */
+	public float readFloat() {
+		return Float.intBitsToFloat(readInt());
+	}
+
+	/**
+	 * Reads a fixed width (eight bytes) double value
+	 * 
+	 * @return The double value
+	 */
+	public double readDouble() {
+		check(8);
+		double value = payload.getDouble(position);
+		position += 8;
+		return value;
+	}
+
+	/**
+	 * Reads an unsigned variable length integer
+	 * 
+	 * @return The int value
+	 */
+	public int readVarInt() {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = readByte();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalStateException(BAD_DATA);
+	}
+
+	/**
+	 * Reads an unsigned variable length long integer
+	 * 
+	 * @return The long value
+	 */
+	public long readVarLong() {
+		long value = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			byte b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalStateException(BAD_DATA);
+	}
+
+	/**
+	 * Reads a zigzag encoded variable length integer
+	 * 
+	 * @return The signed int value
+	 */
+	public int readSignedVarInt() {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads a zigzag encoded variable length long integer
+	 * 
+	 * @return The signed long value
+	 */
+	public long readSignedVarLong() {
+		long value = readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads a length prefixed UTF-8 string, appends the decoded characters to
+	 * the given builder. Doesn't allocate when the builder has enough capacity.
+	 * Rejects the malformed UTF-8 sequences.
+	 * 
+	 * @param dst The {@link StringBuilder} to append to
+	 * @return The number of characters appended
+	 */
+	public int readString(StringBuilder dst) {
+		int bytes = readVarInt();
+		if (bytes < 0) {
+			throw new IllegalStateException(BAD_DATA);
+		}
+		check(bytes);
+		int start = dst.length();
+		int end = position + bytes;
+		while (position < end) {
+			int b = payload.getByte(position++) & 0xFF;
+			if (b < 0x80) {
+				dst.append((char) b);
+			} else if (b < 0xC2) {
+				// A continuation byte or an overlong sequence
+				throw new IllegalStateException(BAD_DATA);
+			} else if (b < 0xE0) {
+				dst.append((char) (((b & 0x1F) << 6) | next(end)));
+			} else if (b < 0xF0) {
+				int c = ((b & 0x0F) << 12) | (next(end) << 6);
+				c |= next(end);
+				if (c < 0x800 || Character.isSurrogate((char) c)) {
+					throw new IllegalStateException(BAD_DATA);
+				}
+				dst.append((char) c);
+			} else if (b < 0xF5) {
+				int cp = ((b & 0x07) << 18) | (next(end) << 12);
+				cp |= (next(end) << 6);
+				cp |= next(end);
+				if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT || cp > Character.MAX_CODE_POINT) {
+					throw new IllegalStateException(BAD_DATA);
+				}
+				dst.append(Character.highSurrogate(cp)).append(Character.lowSurrogate(cp));
+			} else {
+				throw new IllegalStateException(BAD_DATA);
+			}
+		}
+		return dst.length() - start;
+	}
+
+	/**
+	 * Reads a length prefixed UTF-8 string
+	 * 
+	 * @return The decoded string
+	 */
+	public String readString() {
+		StringBuilder sb = new StringBuilder();
+		readString(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Skips the given number of bytes
+	 * 
+	 * @param bytes The number of bytes to skip
+	 * @return {@code this} {@link PayloadReader}
+	 */
+	public PayloadReader skip(int bytes) {
+		check(bytes);
+		position += bytes;
+		return this;
+	}
+
+	/**
+	 * Reads a continuation byte of a UTF-8 sequence
+	 * 
+	 * @param end The end of the encoded string
+	 * @return The lower six bits of the continuation byte
+	 */
+	private int next(int end) {
+		if (position >= end) {
+			throw new IllegalStateException(BAD_DATA);
+		}
+		int b = payload.getByte(position++);
+		if ((b & 0xC0) != 0x80) {
+			throw new IllegalStateException(BAD_DATA);
+		}
+		return b & 0x3F;
+	}
+
+	/**
+	 * Verifies that enough data is available
+	 * 
+	 * @param bytes The number of bytes to read
+	 */
+	private void check(int bytes) {
+		if (bytes < 0 || bytes > limit - position) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
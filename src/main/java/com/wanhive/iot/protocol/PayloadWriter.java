@@ -0,0 +1,325 @@
+/*
+ * PayloadWriter.java
+ * 
+ * Sequential writer of the compact payload fields
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+/**
+ * Sequential, cursor based writer of the payload fields. The integers can be
+ * written as variable length (LEB128) integers and the signed integers are
+ * zigzag encoded first, hence the small values take one or two bytes. The
+ * strings are written in UTF-8 preceded by their encoded length, without any
+ * intermediate copy. Set the message length to {@link Packet#HEADER_SIZE} +
+ * {@link #position()} after writing the fields. Use {@link PayloadReader} to
+ * read the fields back. A write which doesn't fit into the payload fails
+ * without moving the position.
+ * 
+ * @author amit
+ *
+ */
+public final class PayloadWriter {
+	private static final String BAD_STRING = "String too long";
+	private final Payload payload;
+	private int position;
+
+	/**
+	 * Constructor: starts writing at the beginning of the payload
+	 * 
+	 * @param payload The {@link Payload} to write to
+	 */
+	public PayloadWriter(Payload payload) {
+		this(payload, 0);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param payload The {@link Payload} to write to
+	 * @param index   The index at which writing starts
+	 */
+	public PayloadWriter(Payload payload, int index) {
+		if (index < 0 || index > Packet.PAYLOAD_SIZE) {
+			throw new IllegalArgumentException();
+		}
+		this.payload = payload;
+		this.position = index;
+	}
+
+	/**
+	 * Returns the current position (index of the next field)
+	 * 
+	 * @return The number of payload bytes written so far (including the
+	 *         starting index)
+	 */
+	public int position() {
+		return position;
+	}
+
+	/**
+	 * Returns the number of bytes that can still be written
+	 * 
+	 * @return The space left in the payload
+	 */
+	public int remaining() {
+		return Packet.PAYLOAD_SIZE - position;
+	}
+
+	/**
+	 * Writes a byte value
+	 * 
+	 * @param value The byte value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeByte(int value) {
+		ensure(1);
+		payload.setByte(position, (byte) value);
+		position += 1;
+		return this;
+	}
+
+	/**
+	 * Writes a sequence of bytes
+	 * 
+	 * @param src    The source array
+	 * @param off    The starting offset within the source array
+	 * @param length The number of bytes to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeBytes(byte[] src, int off, int length) {
+		ensure(length);
+		payload.setBytes(position, src, off, length);
+		position += length;
+		return this;
+	}
+
+	/**
+	 * Writes a fixed width (two bytes) short value
+	 * 
+	 * @param value The short value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeShort(short value) {
+		ensure(2);
+		payload.setShort(position, value);
+		position += 2;
+		return this;
+	}
+
+	/**
+	 * Writes a fixed width (four bytes) int value
+	 * 
+	 * @param value The int value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeInt(int value) {
+		ensure(4);
+		payload.setInt(position, value);
+		position += 4;
+		return this;
+	}
+
+	/**
+	 * Writes a fixed width (eight bytes) long value
+	 * 
+	 * @param value The long value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeLong(long value) {
+		ensure(8);
+		payload.setLong(position, value);
+		position += 8;
+		return this;
+	}
+
+	/**
+	 * Writes a fixed width (four bytes) float value
+	 * 
+	 * @param value The float value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeFloat(float value) {
+		return writeInt(Float.floatToRawIntBits(value));
+	}
+
+	/**
+	 * Writes a fixed width (eight bytes) double value
+	 * 
+	 * @param value The double value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeDouble(double value) {
+		ensure(8);
+		payload.setDouble(position, value);
+		position += 8;
+		return this;
+	}
+
+	/**
+	 * Writes an int value as an unsigned variable length integer (one to five
+	 * bytes)
+	 * 
+	 * @param value The int value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeVarInt(int value) {
+		ensure(sizeOf(value & 0xFFFFFFFFL));
+		while ((value & ~0x7F) != 0) {
+			payload.setByte(position++, (byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		payload.setByte(position++, (byte) value);
+		return this;
+	}
+
+	/**
+	 * Writes a long value as an unsigned variable length integer (one to ten
+	 * bytes)
+	 * 
+	 * @param value The long value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeVarLong(long value) {
+		ensure(sizeOf(value));
+		while ((value & ~0x7FL) != 0) {
+			payload.setByte(position++, (byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		payload.setByte(position++, (byte) value);
+		return this;
+	}
+
+	/**
+	 * Writes a signed int value as a zigzag encoded variable length integer, the
+	 * values close to zero take the fewest bytes
+	 * 
+	 * @param value The int value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeSignedVarInt(int value) {
+		return writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Writes a signed long value as a zigzag encoded variable length integer, the
+	 * values close to zero take the fewest bytes
+	 * 
+	 * @param value The long value to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeSignedVarLong(long value) {
+		return writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Writes a string in UTF-8, preceded by the encoded length as a variable
+	 * length integer. The unpaired surrogates are replaced by '?'.
+	 * 
+	 * @param value The string to write
+	 * @return {@code this} {@link PayloadWriter}
+	 */
+	public PayloadWriter writeString(CharSequence value) {
+		int length = value.length();
+		int bytes = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				bytes += 1;
+			} else if (c < 0x800) {
+				bytes += 2;
+			} else if (isPair(value, i)) {
+				bytes += 4;
+				i++;
+			} else if (Character.isSurrogate(c)) {
+				bytes += 1;
+			} else {
+				bytes += 3;
+			}
+		}
+
+		if (sizeOf(bytes) + bytes > remaining()) {
+			throw new IllegalArgumentException(BAD_STRING);
+		}
+		writeVarInt(bytes);
+
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				payload.setByte(position++, (byte) c);
+			} else if (c < 0x800) {
+				payload.setByte(position++, (byte) (0xC0 | (c >> 6)));
+				payload.setByte(position++, (byte) (0x80 | (c & 0x3F)));
+			} else if (isPair(value, i)) {
+				int cp = Character.toCodePoint(c, value.charAt(++i));
+				payload.setByte(position++, (byte) (0xF0 | (cp >> 18)));
+				payload.setByte(position++, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+				payload.setByte(position++, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+				payload.setByte(position++, (byte) (0x80 | (cp & 0x3F)));
+			} else if (Character.isSurrogate(c)) {
+				payload.setByte(position++, (byte) '?');
+			} else {
+				payload.setByte(position++, (byte) (0xE0 | (c >> 12)));
+				payload.setByte(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+				payload.setByte(position++, (byte) (0x80 | (c & 0x3F)));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Verifies that enough space is left, the position is not modified on
+	 * failure
+	 * 
+	 * @param bytes The number of bytes to write
+	 */
+	private void ensure(int bytes) {
+		if (bytes < 0 || bytes > remaining()) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Returns the size of an unsigned variable length integer
+	 * 
+	 * @param value The unsigned value
+	 * @return The number of bytes (one to ten)
+	 */
+	private static int sizeOf(long value) {
+		int bytes = 1;
+		while ((value & ~0x7FL) != 0) {
+			value >>>= 7;
+			++bytes;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Checks whether a valid surrogate pair starts at the given index
+	 * 
+	 * @param value The string
+	 * @param index The index of the high surrogate
+	 * @return true if the characters form a surrogate pair, false otherwise
+	 */
+	private static boolean isPair(CharSequence value, int index) {
+		return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+				&& Character.isLowSurrogate(value.charAt(index + 1));
+	}
+}
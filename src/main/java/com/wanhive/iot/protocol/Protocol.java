@@ -41,11 +41,65 @@ public class Protocol extends FlowControl {
 	public static final String BAD_REQUEST = "Invalid request";
 	public static final String BAD_RESPONSE = "Invalid response or request denied";
 
+	/**
+	 * Source of the new messages (null for allocation)
+	 */
+	private final MessagePool pool;
+	/**
+	 * Source of the sequence numbers (null for this object's own counter)
+	 */
+	private final SequenceAllocator allocator;
+
 	/**
 	 * The default constructor
 	 */
 	public Protocol() {
+		this(null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param pool The {@link MessagePool} for creating the requests (null for
+	 *             allocating the new messages)
+	 */
+	public Protocol(MessagePool pool) {
+		this(pool, null);
+	}
+
+	/**
+	 * Constructor: creates a protocol which takes the sequence numbers and the
+	 * session identifier from a {@link SequenceAllocator}'s shared
+	 * {@link FlowControl}. The allocator is not thread safe, hence neither is
+	 * this object, create one per producer thread.
+	 * 
+	 * @param pool      The {@link MessagePool} for creating the requests (null
+	 *                  for allocating the new messages)
+	 * @param allocator The {@link SequenceAllocator} (null for this object's own
+	 *                  counter)
+	 */
+	public Protocol(MessagePool pool, SequenceAllocator allocator) {
+		this.pool = pool;
+		this.allocator = allocator;
+	}
 
+	@Override
+	public short nextSequenceNumber() {
+		return (allocator != null) ? allocator.next() : super.nextSequenceNumber();
+	}
+
+	@Override
+	public byte getSession() {
+		return (allocator != null) ? allocator.flowControl().getSession() : super.getSession();
+	}
+
+	/**
+	 * Returns a new message, taken from the pool if available
+	 * 
+	 * @return A {@link Message} object
+	 */
+	Message newMessage() {
+		return (pool != null) ? pool.acquire() : new Message();
 	}
 
 	/**
@@ -74,7 +128,7 @@ public class Protocol extends FlowControl {
 		if (nonce == null || nonce.length == 0 || nonce.length > Packet.PAYLOAD_SIZE) {
 			throw new IllegalArgumentException(BAD_REQUEST);
 		} else {
-			Message message = new Message();
+			Message message = newMessage();
 			MessageAddress address = new MessageAddress(uid, 0);
 			MessageControl ctrl = new MessageControl((short) (Packet.HEADER_SIZE + nonce.length), nextSequenceNumber(),
 					getSession());
@@ -122,7 +176,7 @@ public class Protocol extends FlowControl {
 		if (proof == null || proof.length == 0 || proof.length > Packet.PAYLOAD_SIZE) {
 			throw new IllegalArgumentException(BAD_REQUEST);
 		} else {
-			Message message = new Message();
+			Message message = newMessage();
 			MessageAddress address = new MessageAddress();
 			MessageControl ctrl = new MessageControl((short) (Packet.HEADER_SIZE + proof.length), nextSequenceNumber(),
 					getSession());
@@ -162,7 +216,7 @@ public class Protocol extends FlowControl {
 	 */
 	public Message createRegisterRequest(long uid, byte[] sid) {
 		short length = Packet.HEADER_SIZE;
-		Message message = new Message();
+		Message message = newMessage();
 		if (sid != null) {
 			message.payload().setBlob(0, sid);
 			length += (short) sid.length;
@@ -200,7 +254,7 @@ public class Protocol extends FlowControl {
 	 */
 	public Message createGetKeyRequest(byte[] nonce) {
 		short length = Packet.HEADER_SIZE;
-		Message message = new Message();
+		Message message = newMessage();
 		if (nonce != null) {
 			message.payload().setBlob(0, nonce);
 			length += (short) nonce.length;
@@ -243,7 +297,7 @@ public class Protocol extends FlowControl {
 	 * @return A {@link Message} carrying the bootstrap request
 	 */
 	public Message createFindRootRequest(long uid) {
-		Message message = new Message();
+		Message message = newMessage();
 		MessageAddress address = new MessageAddress();
 		MessageControl ctrl = new MessageControl((short) (Packet.HEADER_SIZE + 8), nextSequenceNumber(), getSession());
 		message.setHeader(address, ctrl, RequestContext.FINDROOT);
@@ -275,11 +329,17 @@ public class Protocol extends FlowControl {
 	 * Creates a publish request
 	 * 
 	 * @param topic The topic identifier
-	 * @param data  The bytes of data to be published
+	 * @param data  The bytes of data to be published (at most
+	 *              {@link Packet#PAYLOAD_SIZE} bytes, use a {@link Fragmenter}
+	 *              for the larger data)
 	 * @return A {@link Message} carrying the publish request
 	 */
 	public Message createPublishRequest(byte topic, byte[] data) {
-		Message message = new Message();
+		if (data != null && data.length > Packet.PAYLOAD_SIZE) {
+			throw new IllegalArgumentException(BAD_REQUEST);
+		}
+
+		Message message = newMessage();
 		MessageAddress address = new MessageAddress();
 		MessageControl ctrl = new MessageControl((short) (Packet.HEADER_SIZE + (data == null ? 0 : data.length)),
 				nextSequenceNumber(), topic);
@@ -338,7 +398,7 @@ public class Protocol extends FlowControl {
 	 * @return A {@link Message} carrying the request
 	 */
 	private Message createTopicRequest(byte topic, boolean subscribe) {
-		Message message = new Message();
+		Message message = newMessage();
 		MessageAddress address = new MessageAddress();
 		MessageControl ctrl = new MessageControl((short) Packet.HEADER_SIZE, nextSequenceNumber(), topic);
 		MessageContext ctx = subscribe ? RequestContext.SUBSCRIBE : RequestContext.UNSUBSCRIBE;
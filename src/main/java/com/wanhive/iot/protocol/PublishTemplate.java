@@ -0,0 +1,142 @@
+/*
+ * PublishTemplate.java
+ * 
+ * Pre-encoded publish request of a topic
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.nio.ByteBuffer;
+
+import com.wanhive.iot.protocol.bean.MessageAddress;
+import com.wanhive.iot.protocol.bean.MessageControl;
+
+/**
+ * Pre-encoded publish request of a topic. The invariant header fields are
+ * encoded once, creating a publish request copies the encoded header and
+ * stamps the sequence number, the length and the payload. Produces the same
+ * messages as {@link Protocol#createPublishRequest(byte, byte[])}. Thread safe
+ * unless a {@link SequenceAllocator} is used.
+ * 
+ * @author amit
+ *
+ */
+public class PublishTemplate {
+	private static final int WORDS = Packet.HEADER_SIZE / 8;
+	private final Protocol protocol;
+	/**
+	 * Source of the sequence numbers (null for the protocol)
+	 */
+	private final SequenceAllocator allocator;
+	private final byte topic;
+	/**
+	 * The encoded header
+	 */
+	private final long[] header = new long[WORDS];
+
+	/**
+	 * Constructor
+	 * 
+	 * @param protocol The {@link Protocol} which supplies the messages and the
+	 *                 sequence numbers
+	 * @param topic    The topic identifier
+	 */
+	public PublishTemplate(Protocol protocol, byte topic) {
+		this(protocol, topic, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param protocol  The {@link Protocol} which supplies the messages
+	 * @param topic     The topic identifier
+	 * @param allocator The {@link SequenceAllocator} which supplies the sequence
+	 *                  numbers (null for the protocol)
+	 */
+	public PublishTemplate(Protocol protocol, byte topic, SequenceAllocator allocator) {
+		this.protocol = protocol;
+		this.allocator = allocator;
+		this.topic = topic;
+		Message message = new Message();
+		MessageControl ctrl = new MessageControl((short) Packet.HEADER_SIZE, (short) 0, topic);
+		message.setHeader(new MessageAddress(), ctrl, RequestContext.PUBLISH);
+		ByteBuffer buffer = message.buffer();
+		for (int i = 0; i < WORDS; i++) {
+			header[i] = buffer.getLong(i << 3);
+		}
+	}
+
+	/**
+	 * Returns the topic identifier
+	 * 
+	 * @return The topic identifier
+	 */
+	public byte getTopic() {
+		return topic;
+	}
+
+	/**
+	 * Creates a publish request
+	 * 
+	 * @param data The bytes of data to be published (at most
+	 *             {@link Packet#PAYLOAD_SIZE} bytes)
+	 * @return A {@link Message} carrying the publish request
+	 */
+	public Message create(byte[] data) {
+		return create(data, 0, data.length);
+	}
+
+	/**
+	 * Creates a publish request
+	 * 
+	 * @param data   The array containing the data to be published
+	 * @param offset The starting offset of the data within the array
+	 * @param length The data size in bytes (at most {@link Packet#PAYLOAD_SIZE})
+	 * @return A {@link Message} carrying the publish request
+	 */
+	public Message create(byte[] data, int offset, int length) {
+		Message message = create(length);
+		message.payload().setBytes(0, data, offset, length);
+		return message;
+	}
+
+	/**
+	 * Creates a publish request whose payload should be filled in by the caller
+	 * (for example using a {@link PayloadWriter})
+	 * 
+	 * @param length The payload length in bytes (at most
+	 *               {@link Packet#PAYLOAD_SIZE})
+	 * @return A {@link Message} carrying the publish request
+	 */
+	public Message create(int length) {
+		if (length < 0 || length > Packet.PAYLOAD_SIZE) {
+			throw new IllegalArgumentException(Protocol.BAD_REQUEST);
+		}
+
+		Message message = protocol.newMessage();
+		ByteBuffer buffer = message.buffer();
+		for (int i = 0; i < WORDS; i++) {
+			buffer.putLong(i << 3, header[i]);
+		}
+		message.header().setLength((short) (Packet.HEADER_SIZE + length))
+				.setSequenceNumber((allocator != null) ? allocator.next() : protocol.nextSequenceNumber());
+		return message;
+	}
+}
@@ -0,0 +1,298 @@
+/*
+ * Reassembler.java
+ * 
+ * Puts the fragmented publications back together
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts the fragments created by a {@link Fragmenter} back together. The
+ * fragments may arrive in any order, the fragments of different publishers and
+ * topics may interleave. The memory held by the incomplete transfers is
+ * bounded, the oldest transfers are dropped to make room for the new ones, and
+ * a transfer is dropped if it doesn't complete within the timeout. A
+ * publication without an {@link Envelope} in its header is returned as is.
+ * The compressed data is decoded by the configured {@link PayloadCodec}. Not
+ * thread safe.
+ * 
+ * @author amit
+ *
+ */
+public class Reassembler {
+	private static final String BAD_CODEC = "Codec not configured";
+	/**
+	 * The maximum number of bytes held by the incomplete transfers
+	 */
+	private final int capacity;
+	/**
+	 * Expiration time of an incomplete transfer in nanoseconds
+	 */
+	private final long timeout;
+	/**
+	 * The incomplete transfers in the order of arrival
+	 */
+	private final Map<Key, Transfer> transfers =
+			new LinkedHashMap<Key, Transfer>();
+	/**
+	 * The number of bytes held by the incomplete transfers
+	 */
+	private int size;
+	/**
+	 * The number of dropped transfers
+	 */
+	private long dropped;
+	/**
+	 * Decodes the compressed data (null for none)
+	 */
+	private PayloadCodec codec;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param capacity The maximum number of bytes held by the incomplete
+	 *                 transfers
+	 * @param timeout  Expiration time of an incomplete transfer in milliseconds
+	 */
+	public Reassembler(int capacity, long timeout) {
+		if (capacity < Fragmenter.FRAGMENT_SIZE || timeout <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+		this.timeout = TimeUnit.MILLISECONDS.toNanos(timeout);
+	}
+
+	/**
+	 * Sets the codec for decoding the compressed data
+	 * 
+	 * @param codec The {@link PayloadCodec} (null for none)
+	 */
+	public void setCodec(PayloadCodec codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * Accepts a publication
+	 * 
+	 * @param message The {@link Message} carrying a publication
+	 * @return The complete data if available, null otherwise
+	 */
+	public byte[] accept(Message message) {
+		return accept(message.header(), message.payload());
+	}
+
+	/**
+	 * Accepts a publication
+	 * 
+	 * @param frame The {@link Frame} carrying a publication
+	 * @return The complete data if available, null otherwise
+	 */
+	public byte[] accept(Frame frame) {
+		return accept(frame.header(), frame.payload());
+	}
+
+	/**
+	 * Drops the incomplete transfers which have expired
+	 * 
+	 * @return The number of transfers dropped
+	 */
+	public int expire() {
+		long now = System.nanoTime();
+		int count = 0;
+		Iterator<Transfer> i = transfers.values().iterator();
+		while (i.hasNext()) {
+			Transfer t = i.next();
+			if (now - t.created < timeout) {
+				break;
+			}
+			i.remove();
+			size -= t.data.length;
+			++count;
+		}
+		dropped += count;
+		return count;
+	}
+
+	/**
+	 * Returns the number of bytes held by the incomplete transfers
+	 * 
+	 * @return The memory usage in bytes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of incomplete transfers that were dropped due to the
+	 * timeout or the lack of space
+	 * 
+	 * @return The dropped transfers count
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Accepts a publication
+	 * 
+	 * @param header  The publication's {@link Header}
+	 * @param payload The publication's {@link Payload}
+	 * @return The complete data if available, null otherwise
+	 * @throws IllegalArgumentException if the compressed data is malformed
+	 * @throws IllegalStateException    if the data is compressed and the codec
+	 *                                  is not configured
+	 */
+	private byte[] accept(Header header, Payload payload) {
+		int bytes = header.getLength() - Packet.HEADER_SIZE;
+		if (!Envelope.isPresent(header)) {
+			return payload.getBlob(0, bytes);
+		}
+
+		byte flags = Envelope.getFlags(header);
+		int index = Envelope.getIndex(header);
+		int count = Envelope.getCount(header);
+		boolean partial = index < count - 1
+				&& bytes != Fragmenter.FRAGMENT_SIZE;
+		if (count <= 0 || index < 0 || index >= count || partial) {
+			// Malformed fragment
+			return null;
+		} else if (count == 1 && (flags & Envelope.COMPRESSED) == 0) {
+			return payload.getBlob(0, bytes);
+		}
+
+		expire();
+		short transfer = Envelope.getTransfer(header);
+		Key key = new Key(header.getSource(), header.getSession(), transfer);
+		Transfer t = transfers.get(key);
+		if (t != null && (t.count != count || t.flags != flags
+				|| t.received.get(index))) {
+			// A stale transfer with the same identifier (for example, of a
+			// publisher which has reconnected), start over
+			transfers.remove(key);
+			size -= t.data.length;
+			++dropped;
+			t = null;
+		}
+
+		if (t == null) {
+			int required = count * Fragmenter.FRAGMENT_SIZE;
+			if (required > capacity) {
+				++dropped;
+				return null;
+			}
+			evict(required);
+			t = new Transfer(count, required, flags);
+			transfers.put(key, t);
+			size += required;
+		}
+
+		payload.getBytes(0, t.data, index * Fragmenter.FRAGMENT_SIZE, bytes);
+		t.received.set(index);
+		if (index == count - 1) {
+			t.length = index * Fragmenter.FRAGMENT_SIZE + bytes;
+		}
+
+		if (t.received.cardinality() < count) {
+			return null;
+		} else {
+			transfers.remove(key);
+			size -= t.data.length;
+			if ((t.flags & Envelope.COMPRESSED) == 0) {
+				return (t.length == t.data.length) ? t.data
+						: Arrays.copyOf(t.data, t.length);
+			} else if (codec == null) {
+				throw new IllegalStateException(BAD_CODEC);
+			} else {
+				return codec.decode(t.data, 0, t.length);
+			}
+		}
+	}
+
+	/**
+	 * Drops the oldest incomplete transfers to make room for a new one
+	 * 
+	 * @param required The number of bytes required
+	 */
+	private void evict(int required) {
+		Iterator<Transfer> i = transfers.values().iterator();
+		while (size + required > capacity && i.hasNext()) {
+			size -= i.next().data.length;
+			i.remove();
+			++dropped;
+		}
+	}
+
+	/**
+	 * Identifies a transfer
+	 */
+	private static final class Key {
+		private final long source;
+		private final byte topic;
+		private final short transfer;
+
+		Key(long source, byte topic, short transfer) {
+			this.source = source;
+			this.topic = topic;
+			this.transfer = transfer;
+		}
+
+		@Override
+		public int hashCode() {
+			int id = (topic & 0xFF) << 16 | (transfer & 0xFFFF);
+			return Long.hashCode(source) * 31 + id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) obj;
+			return source == k.source && topic == k.topic
+					&& transfer == k.transfer;
+		}
+	}
+
+	/**
+	 * An incomplete transfer
+	 */
+	private static final class Transfer {
+		private final long created = System.nanoTime();
+		private final int count;
+		private final byte flags;
+		private final byte[] data;
+		private final BitSet received;
+		private int length;
+
+		Transfer(int count, int capacity, byte flags) {
+			this.count = count;
+			this.flags = flags;
+			this.data = new byte[capacity];
+			this.received = new BitSet(count);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * RecordBatcher.java
+ * 
+ * Packs small records into shared publications
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.wanhive.iot.protocol.bean.MessageAddress;
+import com.wanhive.iot.protocol.bean.MessageControl;
+
+/**
+ * Packs the small records published on the same topic into a single
+ * publication, hence the records share the message header. Each record is
+ * preceded by its length (a variable length integer), the header carries an
+ * {@link Envelope} with the {@link Envelope#RECORDS} flag. A publication
+ * is completed when it is full or when its oldest record has waited for the
+ * maximum delay (see {@link #expire()}). The subscribers unpack the records
+ * using a {@link RecordIterator}. Not thread safe.
+ * 
+ * @author amit
+ *
+ */
+public class RecordBatcher {
+	/**
+	 * The maximum record size in bytes
+	 */
+	public static final int MAX_RECORD_SIZE = Packet.PAYLOAD_SIZE - 2;
+	private static final String BAD_RECORD = "Record too large";
+	private static final int TOPICS = 256;
+	private final Protocol protocol;
+	/**
+	 * The maximum time a record waits for more records in nanoseconds
+	 */
+	private final long maxDelay;
+	/**
+	 * The open publications indexed by the topic
+	 */
+	private final PayloadWriter[] writers = new PayloadWriter[TOPICS];
+	private final Message[] messages = new Message[TOPICS];
+	private final long[] created = new long[TOPICS];
+	/**
+	 * The number of open publications
+	 */
+	private int open;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param protocol The {@link Protocol} which supplies the messages and the
+	 *                 sequence numbers
+	 * @param maxDelay The maximum time (in milliseconds) a record waits for more
+	 *                 records
+	 */
+	public RecordBatcher(Protocol protocol, long maxDelay) {
+		if (maxDelay < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.protocol = protocol;
+		this.maxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+	}
+
+	/**
+	 * Adds a record
+	 * 
+	 * @param topic  The topic identifier
+	 * @param record The record
+	 * @return A completed publication which should be sent, null if none
+	 */
+	public Message add(byte topic, byte[] record) {
+		return add(topic, record, 0, record.length);
+	}
+
+	/**
+	 * Adds a record
+	 * 
+	 * @param topic  The topic identifier
+	 * @param record The array containing the record
+	 * @param offset The starting offset of the record within the array
+	 * @param length The record size in bytes
+	 * @return A completed publication which should be sent, null if none
+	 */
+	public Message add(byte topic, byte[] record, int offset, int length) {
+		if (length < 0 || length > MAX_RECORD_SIZE) {
+			throw new IllegalArgumentException(BAD_RECORD);
+		} else if (offset < 0 || offset > record.length - length) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int slot = topic & 0xFF;
+		Message completed = null;
+		if (writers[slot] != null && writers[slot].remaining() < length + (length < 128 ? 1 : 2)) {
+			completed = complete(slot);
+		}
+
+		if (writers[slot] == null) {
+			Message message = protocol.newMessage();
+			messages[slot] = message;
+			writers[slot] = new PayloadWriter(message.payload());
+			created[slot] = System.nanoTime();
+			++open;
+		}
+		writers[slot].writeVarInt(length).writeBytes(record, offset, length);
+
+		if (completed == null && writers[slot].remaining() == 0) {
+			completed = complete(slot);
+		}
+		return completed;
+	}
+
+	/**
+	 * Completes the open publication of a topic
+	 * 
+	 * @param topic The topic identifier
+	 * @return The completed publication, null if none
+	 */
+	public Message flush(byte topic) {
+		int slot = topic & 0xFF;
+		return writers[slot] != null ? complete(slot) : null;
+	}
+
+	/**
+	 * Completes all the open publications
+	 * 
+	 * @return The list of completed publications
+	 */
+	public List<Message> flush() {
+		List<Message> list = new ArrayList<Message>(open);
+		for (int i = 0; i < TOPICS && open > 0; i++) {
+			if (writers[i] != null) {
+				list.add(complete(i));
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Completes the open publications whose oldest record has waited for the
+	 * maximum delay, call this periodically.
+	 * 
+	 * @return The list of completed publications
+	 */
+	public List<Message> expire() {
+		List<Message> list = new ArrayList<Message>();
+		long now = System.nanoTime();
+		for (int i = 0; i < TOPICS && open > 0; i++) {
+			if (writers[i] != null && now - created[i] >= maxDelay) {
+				list.add(complete(i));
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Returns the number of open publications
+	 * 
+	 * @return The open publications count
+	 */
+	public int size() {
+		return open;
+	}
+
+	/**
+	 * Completes an open publication
+	 * 
+	 * @param slot The topic's slot
+	 * @return The completed publication
+	 */
+	private Message complete(int slot) {
+		Message message = messages[slot];
+		MessageControl ctrl = new MessageControl((short) (Packet.HEADER_SIZE + writers[slot].position()),
+				protocol.nextSequenceNumber(), (byte) slot);
+		message.setHeader(new MessageAddress(), ctrl, RequestContext.PUBLISH);
+		Envelope.write(message.header(), Envelope.RECORDS, (short) 0, (short) 0, (short) 1);
+		messages[slot] = null;
+		writers[slot] = null;
+		--open;
+		return message;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * RecordIterator.java
+ * 
+ * Unpacks the records from a publication
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unpacks the records packed by a {@link RecordBatcher}. A publication without
+ * the {@link Envelope#RECORDS} flag is treated as a single record. The iterator
+ * reads directly from the publication, hence a {@link Frame} must not be
+ * advanced until the iteration is complete.
+ * 
+ * @author amit
+ *
+ */
+public class RecordIterator implements Iterator<byte[]> {
+	private static final String BAD_DATA = "Malformed data";
+	private final PayloadReader reader;
+	/**
+	 * Set if the publication is a single record which hasn't been read yet
+	 */
+	private boolean single;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param message The {@link Message} carrying a publication
+	 */
+	public RecordIterator(Message message) {
+		this(message.header(), message.payload());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param frame The {@link Frame} carrying a publication
+	 */
+	public RecordIterator(Frame frame) {
+		this(frame.header(), frame.payload());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param header  The publication's {@link Header}
+	 * @param payload The publication's {@link Payload}
+	 */
+	private RecordIterator(Header header, Payload payload) {
+		int length = header.getLength() - Packet.HEADER_SIZE;
+		reader = new PayloadReader(payload, 0, length);
+		single = !Envelope.isPresent(header) || (Envelope.getFlags(header) & Envelope.RECORDS) == 0;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return reader.hasRemaining() || single;
+	}
+
+	@Override
+	public byte[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		byte[] record = new byte[nextLength()];
+		reader.readBytes(record, 0, record.length);
+		return record;
+	}
+
+	/**
+	 * Copies the next record into an array
+	 * 
+	 * @param dst The destination array (must have enough space)
+	 * @param off The starting offset within the destination array
+	 * @return The record size in bytes
+	 */
+	public int next(byte[] dst, int off) {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int length = nextLength();
+		reader.readBytes(dst, off, length);
+		return length;
+	}
+
+	/**
+	 * Reads the next record's length
+	 * 
+	 * @return The record size in bytes
+	 */
+	private int nextLength() {
+		if (single) {
+			single = false;
+			return reader.remaining();
+		}
+		int length = reader.readVarInt();
+		if (length < 0 || length > reader.remaining()) {
+			throw new IllegalStateException(BAD_DATA);
+		}
+		return length;
+	}
+}
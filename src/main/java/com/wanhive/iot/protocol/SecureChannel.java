@@ -0,0 +1,479 @@
+/*
+ * SecureChannel.java
+ * 
+ * SSLEngine based non-blocking secure channel
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executor;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+
+/**
+ * {@link SSLEngine} based non-blocking secure channel. The network and
+ * application buffers are taken from a shared pool only while they hold some
+ * data, hence an idle connection doesn't hold any buffer. The handshake is
+ * driven by the read and write calls, the delegated tasks run either inline or
+ * on an {@link Executor}. The operations never block, they are synchronized
+ * to allow concurrent reads and writes from different threads.
+ * 
+ * @author amit
+ *
+ */
+class SecureChannel implements ByteChannel {
+	private static final String BAD_CONNECTION = "Invalid connection";
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+	/**
+	 * The maximum number of idle buffers in the shared pool
+	 */
+	private static final int POOL_SIZE = 256;
+	/**
+	 * The shared buffers pool (the buffers can hold a complete TLS record)
+	 */
+	private static final BufferPool pool = new BufferPool(recordSize(), POOL_SIZE);
+
+	private final SocketChannel channel;
+	private final SSLEngine engine;
+	/**
+	 * Following buffers are always kept in the "write" mode
+	 */
+	private ByteBuffer netIn;
+	private ByteBuffer netOut;
+	private ByteBuffer appIn;
+	/**
+	 * Executes the delegated tasks (null for inline execution)
+	 */
+	private Executor executor;
+	/**
+	 * Invoked after the completion of the offloaded tasks
+	 */
+	private Runnable listener;
+	private volatile boolean tasking;
+	private boolean closed;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param channel The connected {@link SocketChannel}
+	 * @param engine  The {@link SSLEngine} in the client mode
+	 * @throws SSLException
+	 */
+	SecureChannel(SocketChannel channel, SSLEngine engine) throws SSLException {
+		this.channel = channel;
+		this.engine = engine;
+		engine.beginHandshake();
+	}
+
+	/**
+	 * Configures the execution of the delegated tasks
+	 * 
+	 * @param executor The {@link Executor} for the delegated tasks, null for
+	 *                 inline execution
+	 * @param listener Invoked (from the executor's thread) after completion of
+	 *                 the delegated tasks, can be null
+	 */
+	void setExecutor(Executor executor, Runnable listener) {
+		this.executor = executor;
+		this.listener = listener;
+	}
+
+	/**
+	 * Checks whether some encrypted data is waiting to be written out
+	 * 
+	 * @return true if the network buffer contains some data, false otherwise
+	 */
+	synchronized boolean isPending() {
+		return netOut != null;
+	}
+
+	/**
+	 * Checks whether some decrypted data is waiting to be read
+	 * 
+	 * @return true if the application buffer contains some data, false otherwise
+	 */
+	synchronized boolean isReadable() {
+		return appIn != null;
+	}
+
+	/**
+	 * Adjusts the interest set according to the channel's state
+	 * 
+	 * @param ops The interest set desired by the application
+	 * @return The interest set required by the channel
+	 */
+	synchronized int interestOps(int ops) {
+		if (tasking) {
+			return 0;
+		} else if (isPending()) {
+			return ops | SelectionKey.OP_WRITE;
+		} else if (isHandshaking()) {
+			return SelectionKey.OP_READ;
+		} else {
+			return ops;
+		}
+	}
+
+	@Override
+	public boolean isOpen() {
+		return channel.isOpen();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			if (!closed && channel.isOpen()) {
+				closed = true;
+				engine.closeOutbound();
+				wrap(EMPTY);
+				flush();
+			}
+		} catch (Exception e) {
+		} finally {
+			netIn = release(netIn);
+			netOut = release(netOut);
+			appIn = release(appIn);
+			channel.close();
+		}
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		if (appIn != null) {
+			return transfer(dst);
+		} else if (closed) {
+			return -1;
+		} else if (!handshake()) {
+			return 0;
+		}
+
+		netIn = acquire(netIn);
+		int bytes = channel.read(netIn);
+		unwrap();
+		handshake();
+		netIn = release(netIn);
+		if (appIn != null) {
+			return transfer(dst);
+		} else if (bytes == -1 || closed) {
+			closed = true;
+			return -1;
+		} else {
+			return 0;
+		}
+	}
+
+	@Override
+	public synchronized int write(ByteBuffer src) throws IOException {
+		if (closed) {
+			throw new ClosedChannelException();
+		} else if (!flush() || !handshake()) {
+			return 0;
+		}
+
+		int consumed = 0;
+		while (src.hasRemaining()) {
+			int bytes = wrap(src);
+			consumed += bytes;
+			if (!flush() || bytes == 0) {
+				break;
+			}
+		}
+		return consumed;
+	}
+
+	/**
+	 * Writes out the encrypted data without blocking
+	 * 
+	 * @return true if all the encrypted data was written out, false otherwise
+	 * @throws IOException
+	 */
+	synchronized boolean flush() throws IOException {
+		if (netOut == null) {
+			return true;
+		}
+
+		netOut.flip();
+		try {
+			channel.write(netOut);
+		} finally {
+			netOut.compact();
+		}
+
+		netOut = release(netOut);
+		return netOut == null;
+	}
+
+	/**
+	 * Checks the handshake status
+	 * 
+	 * @return true if the handshake is in progress, false otherwise
+	 */
+	private boolean isHandshaking() {
+		HandshakeStatus status = engine.getHandshakeStatus();
+		return status != HandshakeStatus.NOT_HANDSHAKING && status != HandshakeStatus.FINISHED;
+	}
+
+	/**
+	 * Drives the handshake as far as possible without blocking
+	 * 
+	 * @return true if the handshake is complete, false otherwise
+	 * @throws IOException
+	 */
+	private boolean handshake() throws IOException {
+		while (true) {
+			switch (engine.getHandshakeStatus()) {
+			case NEED_TASK:
+				if (!runTasks()) {
+					return false;
+				}
+				break;
+			case NEED_WRAP:
+				if (!flush()) {
+					return false;
+				}
+				wrap(EMPTY);
+				break;
+			case NEED_UNWRAP:
+				flush();
+				netIn = acquire(netIn);
+				if (unwrap() == 0 && engine.getHandshakeStatus() == HandshakeStatus.NEED_UNWRAP) {
+					int bytes = channel.read(netIn);
+					if (bytes == -1) {
+						throw new EOFException(BAD_CONNECTION);
+					} else if (bytes == 0) {
+						netIn = release(netIn);
+						return false;
+					}
+				}
+				break;
+			case NOT_HANDSHAKING:
+			case FINISHED:
+				netIn = release(netIn);
+				return true;
+			default:
+				// NEED_UNWRAP_AGAIN (Java 9+): data already buffered by the engine
+				netIn = acquire(netIn);
+				unwrap();
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Runs the delegated tasks
+	 * 
+	 * @return true if all the tasks were executed, false if the tasks are
+	 *         running in background
+	 */
+	private boolean runTasks() {
+		if (tasking) {
+			return false;
+		} else if (executor == null) {
+			Runnable task;
+			while ((task = engine.getDelegatedTask()) != null) {
+				task.run();
+			}
+			return true;
+		} else {
+			tasking = true;
+			executor.execute(() -> {
+				try {
+					Runnable task;
+					while ((task = engine.getDelegatedTask()) != null) {
+						task.run();
+					}
+				} finally {
+					tasking = false;
+					Runnable l = listener;
+					if (l != null) {
+						l.run();
+					}
+				}
+			});
+			return false;
+		}
+	}
+
+	/**
+	 * Decrypts the buffered network data into the application buffer
+	 * 
+	 * @return The number of network bytes consumed
+	 * @throws SSLException
+	 */
+	private int unwrap() throws SSLException {
+		if (netIn == null) {
+			return 0;
+		}
+
+		int consumed = 0;
+		netIn.flip();
+		try {
+			while (true) {
+				appIn = acquire(appIn);
+				SSLEngineResult result = engine.unwrap(netIn, appIn);
+				consumed += result.bytesConsumed();
+				switch (result.getStatus()) {
+				case OK:
+					break;
+				case BUFFER_OVERFLOW:
+					if (appIn.position() == 0) {
+						appIn = grow(appIn, engine.getSession().getApplicationBufferSize());
+						break;
+					}
+					return consumed;
+				case BUFFER_UNDERFLOW:
+					if (netIn.limit() == netIn.capacity() && netIn.position() == 0) {
+						netIn.compact();
+						netIn = grow(netIn, engine.getSession().getPacketBufferSize());
+						netIn.flip();
+						break;
+					}
+					return consumed;
+				case CLOSED:
+					closed = true;
+					return consumed;
+				}
+
+				HandshakeStatus status = result.getHandshakeStatus();
+				if (!netIn.hasRemaining() || status == HandshakeStatus.NEED_TASK
+						|| status == HandshakeStatus.NEED_WRAP) {
+					return consumed;
+				}
+			}
+		} finally {
+			netIn.compact();
+			appIn = release(appIn);
+		}
+	}
+
+	/**
+	 * Encrypts the application data into the network buffer
+	 * 
+	 * @param src The application data
+	 * @return The number of application bytes consumed
+	 * @throws SSLException
+	 */
+	private int wrap(ByteBuffer src) throws SSLException {
+		netOut = acquire(netOut);
+		while (true) {
+			SSLEngineResult result = engine.wrap(src, netOut);
+			switch (result.getStatus()) {
+			case BUFFER_OVERFLOW:
+				if (netOut.position() == 0) {
+					netOut = grow(netOut, engine.getSession().getPacketBufferSize());
+					continue;
+				}
+				break;
+			case CLOSED:
+				closed = true;
+				break;
+			default:
+				break;
+			}
+			netOut = release(netOut);
+			return result.bytesConsumed();
+		}
+	}
+
+	/**
+	 * Copies the decrypted data into the destination buffer
+	 * 
+	 * @param dst The destination buffer
+	 * @return The number of bytes copied
+	 */
+	private int transfer(ByteBuffer dst) {
+		appIn.flip();
+		int bytes = Math.min(appIn.remaining(), dst.remaining());
+		ByteBuffer src = appIn.duplicate();
+		src.limit(src.position() + bytes);
+		dst.put(src);
+		appIn.position(appIn.position() + bytes);
+		appIn.compact();
+		appIn = release(appIn);
+		return bytes;
+	}
+
+	/**
+	 * Returns the given buffer or a new one from the pool if it is null
+	 * 
+	 * @param buffer A {@link ByteBuffer} or null
+	 * @return A {@link ByteBuffer}
+	 */
+	private static ByteBuffer acquire(ByteBuffer buffer) {
+		return buffer != null ? buffer : pool.acquire();
+	}
+
+	/**
+	 * Returns the given buffer to the pool if it is empty
+	 * 
+	 * @param buffer A {@link ByteBuffer} in "write" mode or null
+	 * @return null if the buffer was returned to the pool, the buffer otherwise
+	 */
+	private static ByteBuffer release(ByteBuffer buffer) {
+		if (buffer != null && buffer.position() == 0) {
+			pool.release(buffer);
+			return null;
+		} else {
+			return buffer;
+		}
+	}
+
+	/**
+	 * Replaces a buffer with a larger one, the contents are preserved
+	 * 
+	 * @param buffer The {@link ByteBuffer} in "write" mode
+	 * @param size   The minimum size of the new buffer
+	 * @return The new {@link ByteBuffer}
+	 */
+	private static ByteBuffer grow(ByteBuffer buffer, int size) {
+		ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+		buffer.flip();
+		bigger.put(buffer);
+		pool.release(buffer);
+		return bigger;
+	}
+
+	/**
+	 * Returns the buffer size required for holding a complete TLS record
+	 * 
+	 * @return Size in bytes
+	 */
+	private static int recordSize() {
+		try {
+			SSLEngine engine = SSLContext.getDefault().createSSLEngine();
+			return Math.max(engine.getSession().getPacketBufferSize(),
+					engine.getSession().getApplicationBufferSize());
+		} catch (NoSuchAlgorithmException e) {
+			return (1 << 14) + (1 << 11);
+		}
+	}
+}
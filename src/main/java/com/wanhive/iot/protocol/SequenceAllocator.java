@@ -0,0 +1,87 @@
+/*
+ * SequenceAllocator.java
+ * 
+ * Allocates the sequence numbers from the reserved blocks
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+/**
+ * Allocates the sequence numbers from the blocks reserved in a shared
+ * {@link FlowControl}, hence the producer threads don't contend on every
+ * allocation. The numbers allocated by the different allocators of the same
+ * {@link FlowControl} never collide until the sequence numbers wrap around.
+ * Not thread safe, create one allocator per producer thread, for example
+ * for a thread's own {@link Protocol} (see
+ * {@link Protocol#Protocol(MessagePool, SequenceAllocator)}) or
+ * {@link PublishTemplate}.
+ * 
+ * @author amit
+ *
+ */
+public class SequenceAllocator {
+	private final FlowControl flowControl;
+	private final int blockSize;
+	/**
+	 * The next sequence number
+	 */
+	private int next;
+	/**
+	 * The end of the current block (exclusive)
+	 */
+	private int end;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param flowControl The shared {@link FlowControl}
+	 * @param blockSize   The number of sequence numbers reserved at once
+	 */
+	public SequenceAllocator(FlowControl flowControl, int blockSize) {
+		if (blockSize <= 0 || blockSize > Short.MAX_VALUE) {
+			throw new IllegalArgumentException();
+		}
+		this.flowControl = flowControl;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Returns the shared {@link FlowControl}
+	 * 
+	 * @return The {@link FlowControl} which supplies the blocks
+	 */
+	FlowControl flowControl() {
+		return flowControl;
+	}
+
+	/**
+	 * Returns the next sequence number, reserves a new block if the current one
+	 * is exhausted
+	 * 
+	 * @return The next sequence number
+	 */
+	public short next() {
+		if (next == end) {
+			next = flowControl.reserve(blockSize);
+			end = next + blockSize;
+		}
+		return (short) next++;
+	}
+}
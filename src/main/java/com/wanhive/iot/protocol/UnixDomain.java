@@ -0,0 +1,168 @@
+/*
+ * UnixDomain.java
+ * 
+ * Unix domain socket support (Java 16+)
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Unix domain socket support. Available on Java 16 and later, resolved at run
+ * time so that the library still runs on Java 8. A host whose service field is
+ * a file system path (not a port number) is reached over a Unix domain socket.
+ * 
+ * @author amit
+ *
+ */
+final class UnixDomain {
+	private static final String NOT_SUPPORTED = "Unix domain sockets not supported";
+	private static final String BAD_PATH = "Invalid socket path";
+	/**
+	 * The UNIX protocol family, null if not supported
+	 */
+	private static final ProtocolFamily FAMILY;
+	/**
+	 * The SocketChannel.open(ProtocolFamily) method, null if not supported
+	 */
+	private static final Method OPEN;
+	/**
+	 * The UnixDomainSocketAddress.of(String) method, null if not supported
+	 */
+	private static final Method ADDRESS;
+
+	static {
+		ProtocolFamily family = null;
+		Method open = null;
+		Method address = null;
+		try {
+			family = StandardProtocolFamily.valueOf("UNIX");
+			open = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+			address = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+		} catch (Exception e) {
+			family = null;
+		}
+		FAMILY = family;
+		OPEN = open;
+		ADDRESS = address;
+	}
+
+	private UnixDomain() {
+
+	}
+
+	/**
+	 * Checks whether the Unix domain sockets are supported by the runtime
+	 * 
+	 * @return true if supported, false otherwise
+	 */
+	static boolean isSupported() {
+		return FAMILY != null;
+	}
+
+	/**
+	 * Checks whether a service name identifies a Unix domain socket
+	 * 
+	 * @param service The service name
+	 * @return true if the service name is a socket path, false if it is a port
+	 *         number
+	 */
+	static boolean isPath(String service) {
+		if (service == null || service.isEmpty()) {
+			return false;
+		}
+
+		for (int i = 0; i < service.length(); ++i) {
+			if (!Character.isDigit(service.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Opens an unconnected Unix domain {@link SocketChannel}
+	 * 
+	 * @return A new {@link SocketChannel}
+	 * @throws IOException A {@link SocketException} if the runtime doesn't
+	 *                     support the Unix domain sockets
+	 */
+	static SocketChannel open() throws IOException {
+		if (!isSupported()) {
+			throw new SocketException(NOT_SUPPORTED);
+		}
+
+		try {
+			return (SocketChannel) OPEN.invoke(null, FAMILY);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			} else {
+				throw new IOException(e.getCause());
+			}
+		} catch (Exception e) {
+			throw unsupported(e);
+		}
+	}
+
+	/**
+	 * Creates a Unix domain socket address
+	 * 
+	 * @param path The socket's path
+	 * @return A {@link SocketAddress} object
+	 * @throws SocketException If the runtime doesn't support the Unix domain
+	 *                         sockets or the path is invalid
+	 */
+	static SocketAddress address(String path) throws SocketException {
+		if (!isSupported()) {
+			throw new SocketException(NOT_SUPPORTED);
+		}
+
+		try {
+			return (SocketAddress) ADDRESS.invoke(null, path);
+		} catch (InvocationTargetException e) {
+			SocketException se = new SocketException(BAD_PATH);
+			se.initCause(e.getCause());
+			throw se;
+		} catch (Exception e) {
+			throw unsupported(e);
+		}
+	}
+
+	/**
+	 * Creates the exception thrown when the reflective access fails
+	 * 
+	 * @param cause The cause
+	 * @return A {@link SocketException}
+	 */
+	private static SocketException unsupported(Exception cause) {
+		SocketException e = new SocketException(NOT_SUPPORTED);
+		e.initCause(cause);
+		return e;
+	}
+}
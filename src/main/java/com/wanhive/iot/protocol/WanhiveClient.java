@@ -25,12 +25,11 @@ package com.wanhive.iot.protocol;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
-import java.net.ProtocolException;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.List;
 
 import javax.net.ssl.SSLSocketFactory;
 
@@ -42,10 +41,22 @@ import com.wanhive.iot.protocol.bean.NameInfo;
  * @author amit
  *
  */
-public class WanhiveClient implements Client {
+public class WanhiveClient extends Connection {
 	private static final String BAD_MESSAGE = "Invalid message";
 	private static final String BAD_CONNECTION = "Invalid connection";
 	private Socket socket;
+	/**
+	 * Coalesces the outgoing messages
+	 */
+	private byte[] batch;
+	/**
+	 * Buffers and decodes the incoming messages
+	 */
+	private FrameDecoder decoder;
+	/**
+	 * Source of the incoming messages (null for allocation)
+	 */
+	private MessagePool pool;
 
 	/**
 	 * The default constructor
@@ -108,14 +119,7 @@ public class WanhiveClient implements Client {
 
 	}
 
-	/**
-	 * Connects to a remote host (closes any existing connection).
-	 * 
-	 * @param host    Remote host's details as {@link NameInfo}
-	 * @param timeout The read timeout in milliseconds (set to 0 to block forever)
-	 * @param ssl     Enable or disable secure connection
-	 * @throws IOException
-	 */
+	@Override
 	void connect(NameInfo host, int timeout, boolean ssl) throws IOException {
 		try {
 			close();
@@ -132,6 +136,15 @@ public class WanhiveClient implements Client {
 		}
 	}
 
+	@Override
+	Connection detach() {
+		WanhiveClient client = new WanhiveClient(release());
+		client.decoder = decoder;
+		client.pool = pool;
+		decoder = null;
+		return client;
+	}
+
 	@Override
 	public void close() {
 		try {
@@ -141,58 +154,79 @@ public class WanhiveClient implements Client {
 		} catch (Exception e) {
 		} finally {
 			socket = null;
+			decoder = null;
 		}
 	}
 
 	@Override
 	public void send(Message message) throws IOException {
 		int messageLength = message.header().getLength();
-		if (Packet.isValidLength(messageLength)) {
-			OutputStream out = socket.getOutputStream();
-			out.write(message.getBuffer(), 0, messageLength);
-		} else {
+		if (!Packet.isValidLength(messageLength)) {
 			throw new IllegalArgumentException(BAD_MESSAGE);
+		} else if (message.isDirect()) {
+			// Stream I/O requires an array
+			if (batch == null) {
+				batch = new byte[Packet.BATCH_SIZE];
+			}
+			message.writeTo(batch, 0);
+			socket.getOutputStream().write(batch, 0, messageLength);
+		} else {
+			message.writeTo(socket.getOutputStream());
 		}
 	}
 
 	@Override
-	public Message receive() throws IOException {
-		Message message = new Message();
-		InputStream in = socket.getInputStream();
-
-		// STEP 1: fetch the header
-		int bytes = in.read(message.getBuffer(), 0, Packet.HEADER_SIZE);
-		if (bytes != Packet.HEADER_SIZE) {
-			throw new EOFException(BAD_CONNECTION);
+	public void send(List<Message> messages) throws IOException {
+		if (batch == null) {
+			batch = new byte[Packet.BATCH_SIZE];
 		}
 
-		// STEP 2: check the message length
-		short messageLength = message.header().getLength();
-		if (!Packet.isValidLength(messageLength)) {
-			throw new ProtocolException(BAD_MESSAGE);
+		OutputStream out = socket.getOutputStream();
+		int bytes = 0;
+		for (Message message : messages) {
+			int messageLength = message.header().getLength();
+			if (!Packet.isValidLength(messageLength)) {
+				throw new IllegalArgumentException(BAD_MESSAGE);
+			} else if (bytes + messageLength > batch.length) {
+				out.write(batch, 0, bytes);
+				bytes = 0;
+			}
+			message.writeTo(batch, bytes);
+			bytes += messageLength;
 		}
 
-		// STEP3: fetch the payload data
-		if (messageLength > Packet.HEADER_SIZE) {
-			bytes += in.read(message.getBuffer(), bytes, messageLength - Packet.HEADER_SIZE);
+		if (bytes > 0) {
+			out.write(batch, 0, bytes);
 		}
+	}
+
+	@Override
+	public Message receive() throws IOException {
+		return receiveFrame().copy();
+	}
 
-		// STEP 4: check the message length again
-		if (bytes != messageLength) {
-			throw new EOFException(BAD_CONNECTION);
+	@Override
+	public Frame receiveFrame() throws IOException {
+		if (decoder == null) {
+			decoder = new FrameDecoder(Packet.BATCH_SIZE, false);
 		}
 
-		// STEP 5: make the message internally consistent and return
-		message.header().setLength(messageLength);
-		return message;
+		Frame frame;
+		while ((frame = decoder.nextFrame(pool)) == null) {
+			if (decoder.fill(socket.getInputStream()) == -1) {
+				throw new EOFException(BAD_CONNECTION);
+			}
+		}
+		return frame;
 	}
 
 	@Override
 	public Message receive(short sequenceNumber) throws IOException {
 		while (true) {
-			Message message = receive();
-			if (sequenceNumber == 0 || message.header().getSequenceNumber() == sequenceNumber) {
-				return message;
+			// Only the matching message is copied (possibly into a pooled message)
+			Frame frame = receiveFrame();
+			if (sequenceNumber == 0 || frame.header().getSequenceNumber() == sequenceNumber) {
+				return frame.copy();
 			}
 		}
 	}
@@ -209,4 +243,14 @@ public class WanhiveClient implements Client {
 		socket.setSoTimeout(milliseconds);
 	}
 
+	@Override
+	public void setNoDelay(boolean on) throws SocketException {
+		socket.setTcpNoDelay(on);
+	}
+
+	@Override
+	public void setMessagePool(MessagePool pool) {
+		this.pool = pool;
+	}
+
 }
@@ -0,0 +1,152 @@
+/*
+ * CreditWindowTest.java
+ * 
+ * Tests of the outgoing credit window
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CreditWindow} tests
+ * 
+ * @author amit
+ *
+ */
+class CreditWindowTest {
+
+	@Test
+	void limitsMessages() {
+		CreditWindow window = new CreditWindow(2, 0, 0);
+		assertTrue(window.tryAcquire(100));
+		assertTrue(window.tryAcquire(100));
+		assertFalse(window.tryAcquire(1));
+		window.release();
+		assertTrue(window.tryAcquire(1));
+		assertEquals(2, window.getInFlight());
+		window.reset();
+		assertEquals(0, window.getInFlight());
+	}
+
+	@Test
+	void limitsBytes() {
+		CreditWindow window = new CreditWindow(8, 100, 0);
+		assertTrue(window.tryAcquire(150));
+		assertFalse(window.tryAcquire(1));
+		window.release();
+		assertTrue(window.tryAcquire(60));
+		assertTrue(window.tryAcquire(40));
+		assertFalse(window.tryAcquire(1));
+		window.release();
+		assertTrue(window.tryAcquire(60));
+	}
+
+	@Test
+	void cancelKeepsOlderCredits() {
+		CreditWindow window = new CreditWindow(4, 100, 0);
+		assertTrue(window.tryAcquire(50));
+		assertTrue(window.tryAcquire(30));
+		assertTrue(window.tryAcquire(20));
+		window.cancel(30);
+		assertEquals(2, window.getInFlight());
+		// Oldest first: 50 then 20
+		window.release();
+		assertTrue(window.tryAcquire(80));
+		assertFalse(window.tryAcquire(1));
+		window.cancel(7);
+		window.cancel(7);
+		window.cancel(7);
+		assertEquals(0, window.getInFlight());
+		assertTrue(window.tryAcquire(100));
+	}
+
+	@Test
+	void acquireWaitsForRelease() throws InterruptedException {
+		CreditWindow window = new CreditWindow(1, 0, 0);
+		window.acquire(10);
+		Thread t = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+			}
+			window.release();
+		});
+		t.start();
+		window.acquire(10);
+		t.join();
+		assertEquals(1, window.getInFlight());
+	}
+
+	@Test
+	void releaseWakesTheWaiterThatFits() throws InterruptedException {
+		CreditWindow window = new CreditWindow(8, 100, 0);
+		window.acquire(60);
+		window.acquire(40);
+		CountDownLatch large = waiter(window, 70);
+		Thread.sleep(50);
+		CountDownLatch small = waiter(window, 30);
+		Thread.sleep(50);
+
+		window.release();
+		assertTrue(small.await(5, TimeUnit.SECONDS));
+		assertEquals(1, large.getCount());
+		window.reset();
+		assertTrue(large.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void refillReturnsCredits() throws InterruptedException {
+		CreditWindow window = new CreditWindow(1, 0, 20);
+		window.acquire(10);
+		long start = System.nanoTime();
+		window.acquire(10);
+		assertTrue(System.nanoTime() - start >= 10_000_000L);
+		assertEquals(1, window.getInFlight());
+	}
+
+	/**
+	 * Takes a credit on a new thread
+	 * 
+	 * @param window The {@link CreditWindow}
+	 * @param length The message length in bytes
+	 * @return A {@link CountDownLatch} released after the credit was taken
+	 */
+	private static CountDownLatch waiter(CreditWindow window, int length) {
+		CountDownLatch acquired = new CountDownLatch(1);
+		Thread t = new Thread(() -> {
+			try {
+				window.acquire(length);
+				acquired.countDown();
+			} catch (InterruptedException e) {
+			}
+		});
+		t.setDaemon(true);
+		t.start();
+		return acquired;
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * DemultiplexerTest.java
+ * 
+ * Tests of the dispatch of the messages by category
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.wanhive.iot.edge.Demultiplexer.Category;
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Loopback;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.Protocol;
+import com.wanhive.iot.protocol.RequestContext;
+import com.wanhive.iot.protocol.StatusCode;
+import com.wanhive.iot.protocol.bean.MessageContext;
+
+/**
+ * {@link Demultiplexer} tests
+ * 
+ * @author amit
+ *
+ */
+class DemultiplexerTest {
+	private final Protocol protocol = new Protocol();
+	private final Demultiplexer demultiplexer = new Demultiplexer();
+
+	@Test
+	void classifiesByStatusAndContext() {
+		assertEquals(Category.PUBLICATION, classify(publication(), StatusCode.REQUEST));
+		assertEquals(Category.RESPONSE, classify(publication(), StatusCode.OK));
+		assertEquals(Category.ERROR, classify(publication(), StatusCode.NOK));
+		assertEquals(Category.OTHER, classify(publication(), (byte) 5));
+		assertEquals(Category.OTHER, classify(subscription(), StatusCode.REQUEST));
+		assertEquals(Category.RESPONSE, classify(subscription(), StatusCode.OK));
+	}
+
+	@Test
+	void setCategoryAppliesToTheRequests() {
+		// The status code of the context is ignored
+		MessageContext context = new MessageContext(RequestContext.SUBSCRIBE.getCommand(),
+				RequestContext.SUBSCRIBE.getQualifier(), StatusCode.OK);
+		demultiplexer.setCategory(context, Category.PUBLICATION);
+		assertEquals(Category.PUBLICATION, classify(subscription(), StatusCode.REQUEST));
+		assertEquals(Category.RESPONSE, classify(subscription(), StatusCode.OK));
+		assertEquals(Category.OTHER, classify(protocol.createUnsubscribeRequest((byte) 1), StatusCode.REQUEST));
+
+		demultiplexer.setCategory(RequestContext.PUBLISH, Category.OTHER);
+		assertEquals(Category.OTHER, classify(publication(), StatusCode.REQUEST));
+	}
+
+	@Test
+	void dispatchesByCategory() {
+		List<Message> publications = new ArrayList<Message>();
+		List<Message> responses = new ArrayList<Message>();
+		demultiplexer.setHandler(Category.PUBLICATION, publications::add);
+		demultiplexer.setHandler(Category.RESPONSE, responses::add);
+
+		Message publication = publication();
+		Message response = response(subscription(), StatusCode.OK);
+		demultiplexer.receive(publication);
+		demultiplexer.receive(response);
+		// Dropped, no handler for the category
+		demultiplexer.receive(response(subscription(), StatusCode.NOK));
+		assertEquals(1, publications.size());
+		assertSame(publication, publications.get(0));
+		assertEquals(1, responses.size());
+		assertSame(response, responses.get(0));
+	}
+
+	@Test
+	void othersHandlerIsTheFallback() {
+		List<Message> responses = new ArrayList<Message>();
+		List<Message> others = new ArrayList<Message>();
+		demultiplexer.setHandler(Category.RESPONSE, responses::add);
+		demultiplexer.setHandler(Category.OTHER, others::add);
+
+		demultiplexer.receive(publication());
+		demultiplexer.receive(response(subscription(), StatusCode.NOK));
+		demultiplexer.receive(subscription());
+		demultiplexer.receive(response(subscription(), StatusCode.OK));
+		assertEquals(3, others.size());
+		assertEquals(1, responses.size());
+
+		// Removed
+		demultiplexer.setHandler(Category.RESPONSE, null);
+		demultiplexer.receive(response(subscription(), StatusCode.OK));
+		assertEquals(4, others.size());
+		assertEquals(1, responses.size());
+	}
+
+	@Test
+	void dispatchesFrames() throws IOException {
+		List<Message> publications = new ArrayList<Message>();
+		List<Message> others = new ArrayList<Message>();
+		demultiplexer.setHandler(Category.PUBLICATION, publications::add);
+		demultiplexer.setHandler(Category.OTHER, others::add);
+		try (Loopback loopback = new Loopback()) {
+			SocketChannel[] channels = loopback.connect();
+			ChannelClient sender = Loopback.client(channels[0]);
+			ChannelClient receiver = Loopback.client(channels[1]);
+			receiver.setTimeout(5000);
+			try {
+				sender.send(publication());
+				sender.send(subscription());
+				demultiplexer.receive(receiver.receiveFrame());
+				demultiplexer.receive(receiver.receiveFrame());
+			} finally {
+				sender.close();
+				receiver.close();
+			}
+		}
+		assertEquals(1, publications.size());
+		assertEquals(1, others.size());
+		assertEquals(RequestContext.SUBSCRIBE.getCommand(), others.get(0).header().getCommand());
+		assertEquals(RequestContext.SUBSCRIBE.getQualifier(), others.get(0).header().getQualifier());
+	}
+
+	/**
+	 * Classifies a message with the given status code
+	 * 
+	 * @param message The {@link Message}
+	 * @param status  The status code
+	 * @return The message {@link Category}
+	 */
+	private Category classify(Message message, byte status) {
+		message.header().setStatus(status);
+		return demultiplexer.classify(message.header());
+	}
+
+	/**
+	 * Creates a response
+	 * 
+	 * @param request The request {@link Message}
+	 * @param status  The status code
+	 * @return The response {@link Message}
+	 */
+	private static Message response(Message request, byte status) {
+		request.header().setStatus(status);
+		return request;
+	}
+
+	/**
+	 * Creates a publication
+	 * 
+	 * @return The publication {@link Message}
+	 */
+	private Message publication() {
+		return protocol.createPublishRequest((byte) 1, new byte[8]);
+	}
+
+	/**
+	 * Creates a subscription request
+	 * 
+	 * @return The subscription {@link Message}
+	 */
+	private Message subscription() {
+		return protocol.createSubscribeRequest((byte) 1);
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * ExecutorTest.java
+ * 
+ * Tests of the asynchronous executor
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Client;
+import com.wanhive.iot.protocol.Loopback;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.MessagePool;
+import com.wanhive.iot.protocol.Packet;
+import com.wanhive.iot.protocol.Protocol;
+import com.wanhive.iot.protocol.StatusCode;
+
+/**
+ * {@link Executor} tests
+ * 
+ * @author amit
+ *
+ */
+class ExecutorTest {
+	private final MessagePool pool = new MessagePool(16);
+	private final Protocol protocol = new Protocol(pool);
+	private final FakeClient client = new FakeClient();
+	private final Executor executor = new Executor(client, m -> m.release(), 16);
+
+	@AfterEach
+	void tearDown() {
+		client.gate.countDown();
+		executor.close();
+	}
+
+	@Test
+	void batchSizeFitsInOneWrite() {
+		executor.setBatchSize(Packet.MTU);
+		executor.setBatchSize(Packet.BATCH_SIZE);
+		assertThrows(IllegalArgumentException.class, () -> executor.setBatchSize(Packet.MTU - 1));
+		assertThrows(IllegalArgumentException.class, () -> executor.setBatchSize(Packet.BATCH_SIZE + 1));
+	}
+
+	@Test
+	void clearReturnsCredits() throws InterruptedException {
+		CreditWindow window = new CreditWindow(4, 0, 0);
+		executor.setCreditWindow(window);
+		start();
+
+		executor.put(publication((byte) 1));
+		assertTrue(client.sending.await(5, TimeUnit.SECONDS));
+		executor.put(publication((byte) 1));
+		executor.put(publication((byte) 1));
+		assertEquals(3, window.getInFlight());
+
+		int idle = pool.size();
+		executor.clearOutgoingQueue();
+		assertEquals(1, window.getInFlight());
+		assertEquals(idle + 2, pool.size());
+		assertTrue(executor.offer(publication((byte) 1)));
+		assertTrue(executor.offer(publication((byte) 1)));
+		assertTrue(executor.offer(publication((byte) 1)));
+	}
+
+	@Test
+	void dropReturnsCredit() throws InterruptedException {
+		CreditWindow window = new CreditWindow(2, 0, 0);
+		RateLimiter limiter = new RateLimiter();
+		limiter.setTopicLimit((byte) 1, new TokenBucket(0.001, 1, true));
+		executor.setCreditWindow(window);
+		executor.setRateLimiter(limiter);
+		client.gate.countDown();
+		start();
+
+		assertTrue(executor.offer(publication((byte) 1)));
+		await(() -> client.sent.get() == 1 && pool.size() == 1);
+		for (int i = 1; i <= 3; i++) {
+			assertTrue(executor.offer(publication((byte) 1)));
+			final long dropped = i;
+			await(() -> limiter.getDropped() == dropped && window.getInFlight() == 1);
+		}
+		// The dropped messages went back to the pool
+		assertEquals(1, client.sent.get());
+		assertEquals(1, pool.size());
+	}
+
+	@Test
+	void failsRequestsAfterStop() throws Exception {
+		client.gate.countDown();
+		start();
+		executor.close();
+		await(() -> !executor.isRunning());
+
+		assertClosed(executor.executeAsync(publication((byte) 1)));
+		assertClosed(executor.executeAll(Arrays.asList(publication((byte) 1), publication((byte) 2))));
+		assertEquals(0, client.sent.get());
+	}
+
+	@Test
+	void clearReleasesIncoming() throws Exception {
+		try (Loopback loopback = new Loopback()) {
+			SocketChannel[] channels = loopback.connect();
+			ChannelClient local = Loopback.client(channels[0]);
+			ChannelClient peer = Loopback.client(channels[1]);
+			MessagePool incoming = new MessagePool(16);
+			local.setMessagePool(incoming);
+			Executor e = new Executor(local, 16, 16);
+			e.start();
+			try {
+				for (int i = 0; i < 3; ++i) {
+					peer.send(publication((byte) i));
+				}
+				await(() -> {
+					e.clearIncomingQueue();
+					return incoming.size() == 3;
+				});
+			} finally {
+				e.close();
+				peer.close();
+			}
+		}
+	}
+
+	@Test
+	void completesRequests() throws Exception {
+		try (Loopback loopback = new Loopback()) {
+			SocketChannel[] channels = loopback.connect();
+			ChannelClient peer = Loopback.client(channels[1]);
+			peer.setTimeout(5000);
+			Executor e = new Executor(Loopback.client(channels[0]), 16, 16);
+			e.start();
+			try {
+				Message request = protocol.createSubscribeRequest((byte) 7);
+				CompletableFuture<Message> response = e.executeAsync(request);
+				Message received = peer.receive();
+				assertEquals(request.header().getSequenceNumber(), received.header().getSequenceNumber());
+
+				// A response to another request goes to the incoming queue
+				Message other = received.duplicate();
+				other.header().setQualifier((byte) (other.header().getQualifier() + 1));
+				other.header().setStatus(StatusCode.OK);
+				peer.send(other);
+				received.header().setStatus(StatusCode.OK);
+				peer.send(received);
+				assertEquals(request.header().getSequenceNumber(),
+						response.get(5, TimeUnit.SECONDS).header().getSequenceNumber());
+				assertEquals(other.header().getQualifier(), e.take().header().getQualifier());
+				assertFalse(e.hasIncomingMessage());
+			} finally {
+				e.close();
+				peer.close();
+			}
+		}
+	}
+
+	/**
+	 * Checks that a request has failed because the connection was closed
+	 * 
+	 * @param response The response's {@link CompletableFuture}
+	 */
+	private static void assertClosed(CompletableFuture<?> response) {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(ClosedChannelException.class, e.getCause());
+	}
+
+	/**
+	 * Waits for a condition
+	 * 
+	 * @param condition The condition to wait for
+	 * @throws InterruptedException
+	 */
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Starts the executor and waits for its workers
+	 * 
+	 * @throws InterruptedException
+	 */
+	private void start() throws InterruptedException {
+		executor.start();
+		while (!executor.isRunning() || !client.receiving) {
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Creates a pooled publication
+	 * 
+	 * @param topic The topic identifier
+	 * @return The publication {@link Message}
+	 */
+	private Message publication(byte topic) {
+		return protocol.createPublishRequest(topic, new byte[8]);
+	}
+
+	/**
+	 * A client which holds the first message being sent until the gate opens
+	 */
+	private static class FakeClient implements Client {
+		final CountDownLatch sending = new CountDownLatch(1);
+		final CountDownLatch gate = new CountDownLatch(1);
+		final AtomicInteger sent = new AtomicInteger();
+		volatile boolean receiving;
+
+		@Override
+		public void send(Message message) throws IOException {
+			sending.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			sent.incrementAndGet();
+		}
+
+		@Override
+		public Message receive() throws IOException {
+			receiving = true;
+			try {
+				gate.await();
+				Thread.sleep(Long.MAX_VALUE);
+			} catch (InterruptedException e) {
+			}
+			throw new EOFException();
+		}
+
+		@Override
+		public Message receive(short sequenceNumber) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Message execute(Message request) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setTimeout(int milliseconds) throws IOException {
+		}
+
+		@Override
+		public void close() throws IOException {
+		}
+	}
+}
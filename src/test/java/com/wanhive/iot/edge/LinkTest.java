@@ -0,0 +1,294 @@
+/*
+ * LinkTest.java
+ * 
+ * Tests of the connections hosted by the event loops
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.net.ssl.SSLContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Loopback;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.Packet;
+import com.wanhive.iot.protocol.Protocol;
+import com.wanhive.iot.protocol.StatusCode;
+
+/**
+ * {@link Link} and {@link EventLoopGroup} tests
+ * 
+ * @author amit
+ *
+ */
+class LinkTest {
+	private final Protocol protocol = new Protocol();
+	private final BlockingQueue<Message> received = new LinkedBlockingQueue<Message>();
+	private final EventLoopGroup group;
+	private final Loopback loopback;
+	private final ChannelClient peer;
+	private final Link link;
+
+	LinkTest() throws IOException {
+		group = new EventLoopGroup(1);
+		loopback = new Loopback();
+		SocketChannel[] channels = loopback.connect();
+		peer = Loopback.client(channels[1]);
+		peer.setTimeout(5000);
+		link = group.register(Loopback.client(channels[0]), received::add, 16);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		group.close();
+		peer.close();
+		loopback.close();
+	}
+
+	@Test
+	void exchangesMessages() throws Exception {
+		for (int i = 0; i < 100; ++i) {
+			link.put(protocol.createPublishRequest((byte) i, new byte[i]));
+		}
+		for (int i = 0; i < 100; ++i) {
+			Message message = peer.receive();
+			assertEquals((byte) i, message.header().getSession());
+			assertEquals(Packet.HEADER_SIZE + i, message.header().getLength());
+		}
+
+		Message request = protocol.createSubscribeRequest((byte) 7);
+		CompletableFuture<Message> response = link.executeAsync(request);
+		peer.send(protocol.createPublishRequest((byte) 3, new byte[0]));
+		peer.send(reply(peer.receive()));
+		assertEquals(request.header().getSequenceNumber(),
+				response.get(5, TimeUnit.SECONDS).header().getSequenceNumber());
+		// The publication went to the receiver, the response didn't
+		assertEquals(3, received.poll(5, TimeUnit.SECONDS).header().getSession());
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	void executesBatches() throws Exception {
+		List<Message> requests = Arrays.asList(protocol.createSubscribeRequest((byte) 1),
+				protocol.createSubscribeRequest((byte) 2));
+		CompletableFuture<List<Message>> responses = link.executeAll(requests);
+		Message first = peer.receive();
+		Message second = peer.receive();
+		peer.send(reply(second));
+		peer.send(reply(first));
+		List<Message> result = responses.get(5, TimeUnit.SECONDS);
+		assertEquals(requests.get(0).header().getSequenceNumber(), result.get(0).header().getSequenceNumber());
+		assertEquals(requests.get(1).header().getSequenceNumber(), result.get(1).header().getSequenceNumber());
+	}
+
+	@Test
+	void failsRequestsOnClose() throws Exception {
+		CompletableFuture<Message> pending = link.executeAsync(protocol.createSubscribeRequest((byte) 1));
+		link.close();
+		assertClosed(pending);
+		assertFalse(link.isOpen());
+
+		// After the close
+		assertClosed(link.executeAsync(protocol.createSubscribeRequest((byte) 2)));
+		assertClosed(link.executeAll(Arrays.asList(protocol.createSubscribeRequest((byte) 3))));
+		assertThrows(IllegalStateException.class, () -> link.put(protocol.createPublishRequest((byte) 1, new byte[0])));
+		assertFalse(link.offer(protocol.createPublishRequest((byte) 1, new byte[0])));
+	}
+
+	@Test
+	void writesPastTheSocketBuffers() throws Exception {
+		// Several megabytes through a short queue, the link resumes on the
+		// write events
+		int count = 4096;
+		CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+			try {
+				for (int i = 0; i < count; ++i) {
+					link.put(protocol.createPublishRequest((byte) i, new byte[Packet.PAYLOAD_SIZE]));
+				}
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		for (int i = 0; i < count; ++i) {
+			Message message = peer.receive();
+			assertEquals((byte) i, message.header().getSession());
+			assertEquals(Packet.MTU, message.header().getLength());
+		}
+		writer.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void deliversBurstsInOrder() throws Exception {
+		// More messages than a single read event processes
+		List<Message> messages = new ArrayList<Message>();
+		for (int i = 0; i < 1000; ++i) {
+			messages.add(protocol.createPublishRequest((byte) i, new byte[i % 16]));
+		}
+		peer.send(messages);
+		for (int i = 0; i < messages.size(); ++i) {
+			Message message = received.poll(5, TimeUnit.SECONDS);
+			assertEquals((byte) i, message.header().getSession());
+			assertEquals(Packet.HEADER_SIZE + i % 16, message.header().getLength());
+		}
+	}
+
+	@Test
+	void servesManyLinks() throws Exception {
+		try (EventLoopGroup loops = new EventLoopGroup(2); Loopback sockets = new Loopback()) {
+			int count = 8;
+			List<ChannelClient> peers = new ArrayList<ChannelClient>();
+			List<Link> links = new ArrayList<Link>();
+			List<BlockingQueue<Message>> queues = new ArrayList<BlockingQueue<Message>>();
+			try {
+				for (int i = 0; i < count; ++i) {
+					SocketChannel[] channels = sockets.connect();
+					BlockingQueue<Message> queue = new LinkedBlockingQueue<Message>();
+					peers.add(Loopback.client(channels[1]));
+					peers.get(i).setTimeout(5000);
+					queues.add(queue);
+					links.add(loops.register(Loopback.client(channels[0]), queue::add, 16));
+				}
+
+				for (int i = 0; i < count; ++i) {
+					links.get(i).put(protocol.createPublishRequest((byte) i, new byte[0]));
+					peers.get(i).send(protocol.createPublishRequest((byte) (i + count), new byte[0]));
+				}
+				// Each connection carries only its own messages
+				for (int i = 0; i < count; ++i) {
+					assertEquals((byte) i, peers.get(i).receive().header().getSession());
+					assertEquals((byte) (i + count), queues.get(i).poll(5, TimeUnit.SECONDS).header().getSession());
+				}
+			} finally {
+				for (ChannelClient client : peers) {
+					client.close();
+				}
+			}
+
+			loops.close();
+			for (Link link : links) {
+				assertFalse(link.isOpen());
+			}
+		}
+	}
+
+	@Test
+	void closesOnPeerDisconnect() throws Exception {
+		CompletableFuture<Message> pending = link.executeAsync(protocol.createSubscribeRequest((byte) 1));
+		peer.receive();
+		peer.close();
+		assertClosed(pending);
+		await(() -> !link.isOpen());
+	}
+
+	@Test
+	void exchangesMessagesSecurely(@TempDir Path directory) throws Exception {
+		SSLContext context = Loopback.context(directory);
+		try (Loopback sockets = new Loopback()) {
+			SocketChannel[] channels = sockets.connect();
+			ChannelClient server = Loopback.client(channels[1], Loopback.engine(context, false));
+			server.setTimeout(5000);
+			// The handshake's tasks are offloaded from the event loop
+			Link secure = group.register(Loopback.client(channels[0], Loopback.engine(context, true)), received::add,
+					16);
+			try {
+				for (int i = 0; i < 100; ++i) {
+					secure.put(protocol.createPublishRequest((byte) i, new byte[i]));
+				}
+				for (int i = 0; i < 100; ++i) {
+					Message message = server.receive();
+					assertEquals((byte) i, message.header().getSession());
+					assertEquals(Packet.HEADER_SIZE + i, message.header().getLength());
+				}
+
+				Message request = protocol.createSubscribeRequest((byte) 7);
+				CompletableFuture<Message> response = secure.executeAsync(request);
+				server.send(protocol.createPublishRequest((byte) 3, new byte[0]));
+				server.send(reply(server.receive()));
+				assertEquals(request.header().getSequenceNumber(),
+						response.get(5, TimeUnit.SECONDS).header().getSequenceNumber());
+				assertEquals(3, received.poll(5, TimeUnit.SECONDS).header().getSession());
+			} finally {
+				secure.close();
+				server.close();
+			}
+		}
+	}
+
+	/**
+	 * Creates a successful response to a request
+	 * 
+	 * @param request The request {@link Message}
+	 * @return The response {@link Message}
+	 */
+	private static Message reply(Message request) {
+		Message response = request.duplicate();
+		response.header().setStatus(StatusCode.OK);
+		return response;
+	}
+
+	/**
+	 * Checks that a request has failed because the link was closed
+	 * 
+	 * @param response The response's {@link CompletableFuture}
+	 */
+	private static void assertClosed(CompletableFuture<?> response) {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(ClosedChannelException.class, e.getCause());
+	}
+
+	/**
+	 * Waits for a condition
+	 * 
+	 * @param condition The condition to wait for
+	 * @throws InterruptedException
+	 */
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline);
+			Thread.sleep(5);
+		}
+	}
+}
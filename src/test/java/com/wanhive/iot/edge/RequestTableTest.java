@@ -0,0 +1,217 @@
+/*
+ * RequestTableTest.java
+ * 
+ * Tests of the request-response correlation
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Frame;
+import com.wanhive.iot.protocol.Loopback;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.MessagePool;
+import com.wanhive.iot.protocol.Protocol;
+import com.wanhive.iot.protocol.StatusCode;
+
+/**
+ * {@link RequestTable} tests. The frames are received over a loopback
+ * connection.
+ * 
+ * @author amit
+ *
+ */
+class RequestTableTest {
+	private final Protocol protocol = new Protocol();
+	private final RequestTable table = new RequestTable();
+	private final Loopback loopback;
+	private final ChannelClient sender;
+	private final ChannelClient receiver;
+
+	RequestTableTest() throws IOException {
+		loopback = new Loopback();
+		SocketChannel[] channels = loopback.connect();
+		sender = Loopback.client(channels[0]);
+		receiver = Loopback.client(channels[1]);
+		receiver.setTimeout(5000);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		sender.close();
+		receiver.close();
+		loopback.close();
+	}
+
+	@Test
+	void completesTheMatchingRequest() throws Exception {
+		Message request = protocol.createSubscribeRequest((byte) 1);
+		CompletableFuture<Message> response = table.register(request);
+
+		// The request itself, another command and another qualifier
+		assertFalse(table.complete(frame(request.duplicate())));
+		Message other = reply(request);
+		other.header().setCommand((byte) (request.header().getCommand() + 1));
+		assertFalse(table.complete(frame(other)));
+		other = reply(request);
+		other.header().setQualifier((byte) (request.header().getQualifier() + 1));
+		assertFalse(table.complete(frame(other)));
+		assertFalse(response.isDone());
+
+		assertTrue(table.complete(frame(reply(request))));
+		assertEquals(request.header().getSequenceNumber(), response.get(5, TimeUnit.SECONDS).header().getSequenceNumber());
+		assertEquals(StatusCode.OK, response.get(5, TimeUnit.SECONDS).header().getStatus());
+		// The slot has been freed
+		assertFalse(table.complete(frame(reply(request))));
+	}
+
+	@Test
+	void rejectsInvalidRequests() {
+		Message request = protocol.createSubscribeRequest((byte) 1);
+		request.header().setSequenceNumber((short) 0);
+		assertThrows(IllegalArgumentException.class, () -> table.register(request));
+
+		Message first = protocol.createSubscribeRequest((byte) 1);
+		Message second = protocol.createSubscribeRequest((byte) 2);
+		table.register(first);
+		assertThrows(IllegalStateException.class, () -> table.register(first));
+		// None of the batch remains registered
+		assertThrows(IllegalStateException.class, () -> table.registerAll(Arrays.asList(second, first)));
+		assertFalse(table.register(second).isDone());
+	}
+
+	@Test
+	void cancellationFreesTheSlot() throws IOException {
+		Message request = protocol.createSubscribeRequest((byte) 1);
+		assertTrue(table.register(request).cancel(false));
+		assertFalse(table.complete(frame(reply(request))));
+		assertFalse(table.register(request).isDone());
+	}
+
+	@Test
+	void failsUntilReset() {
+		CompletableFuture<Message> pending = table.register(protocol.createSubscribeRequest((byte) 1));
+		IOException cause = new IOException();
+		table.fail(cause);
+		assertTrue(table.isFailed());
+		assertFailed(cause, pending);
+		// Registered after the failure
+		assertFailed(cause, table.register(protocol.createSubscribeRequest((byte) 2)));
+
+		table.reset();
+		assertFalse(table.isFailed());
+		assertFalse(table.register(protocol.createSubscribeRequest((byte) 3)).isDone());
+	}
+
+	@Test
+	void collectReleasesOnCancel() {
+		MessagePool pool = new MessagePool(16);
+		CompletableFuture<Message> first = new CompletableFuture<Message>();
+		CompletableFuture<Message> second = new CompletableFuture<Message>();
+		CompletableFuture<List<Message>> result = RequestTable.collect(Arrays.asList(first, second));
+
+		first.complete(pool.acquire());
+		assertTrue(result.cancel(false));
+		// The received response went back to the pool, the rest was cancelled
+		assertEquals(1, pool.size());
+		assertTrue(second.isCancelled());
+	}
+
+	@Test
+	void collectFailsWithTheBatch() {
+		MessagePool pool = new MessagePool(16);
+		CompletableFuture<Message> first = new CompletableFuture<Message>();
+		CompletableFuture<Message> second = new CompletableFuture<Message>();
+		CompletableFuture<List<Message>> result = RequestTable.collect(Arrays.asList(first, second));
+
+		first.complete(pool.acquire());
+		IOException cause = new IOException();
+		second.completeExceptionally(cause);
+		assertFailed(cause, result);
+		assertEquals(1, pool.size());
+	}
+
+	@Test
+	void collectKeepsTheOrder() throws Exception {
+		Message a = new Message();
+		Message b = new Message();
+		CompletableFuture<Message> first = new CompletableFuture<Message>();
+		CompletableFuture<Message> second = new CompletableFuture<Message>();
+		CompletableFuture<List<Message>> result = RequestTable.collect(Arrays.asList(first, second));
+		second.complete(b);
+		assertFalse(result.isDone());
+		first.complete(a);
+		List<Message> list = result.get(5, TimeUnit.SECONDS);
+		assertSame(a, list.get(0));
+		assertSame(b, list.get(1));
+	}
+
+	/**
+	 * Passes a {@link Message} through the loopback connection
+	 * 
+	 * @param message The {@link Message} to send
+	 * @return The received {@link Frame}
+	 * @throws IOException
+	 */
+	private Frame frame(Message message) throws IOException {
+		sender.send(message);
+		return receiver.receiveFrame();
+	}
+
+	/**
+	 * Creates a successful response to a request
+	 * 
+	 * @param request The request {@link Message}
+	 * @return The response {@link Message}
+	 */
+	private static Message reply(Message request) {
+		Message response = request.duplicate();
+		response.header().setStatus(StatusCode.OK);
+		return response;
+	}
+
+	/**
+	 * Checks that a {@link CompletableFuture} has failed
+	 * 
+	 * @param cause    The expected reason of failure
+	 * @param response The {@link CompletableFuture}
+	 */
+	private static void assertFailed(Throwable cause, CompletableFuture<?> response) {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+		assertSame(cause, e.getCause());
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * TokenBucketTest.java
+ * 
+ * Tests of the outgoing rate limits
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.wanhive.iot.protocol.Protocol;
+
+/**
+ * {@link TokenBucket} and {@link RateLimiter} tests
+ * 
+ * @author amit
+ *
+ */
+class TokenBucketTest {
+	private final Protocol protocol = new Protocol();
+
+	@Test
+	void allowsBurst() {
+		TokenBucket bucket = new TokenBucket(0.001, 3, true);
+		assertTrue(bucket.tryAcquire(2));
+		assertTrue(bucket.tryAcquire(1));
+		assertFalse(bucket.tryAcquire(1));
+		assertFalse(new TokenBucket(0.001, 3, true).tryAcquire(4));
+	}
+
+	@Test
+	void reserveBorrowsFromRefills() {
+		TokenBucket bucket = new TokenBucket(10, 1, false);
+		assertEquals(0, bucket.reserve(1));
+		long delay = bucket.reserve(2);
+		assertTrue(delay > TimeUnit.MILLISECONDS.toNanos(150));
+		assertTrue(delay <= TimeUnit.MILLISECONDS.toNanos(200));
+	}
+
+	@Test
+	void rejectsBadArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, false));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(Double.NaN, 1, false));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, false));
+	}
+
+	@Test
+	void limitsTopicsAndConnection() {
+		RateLimiter limiter = new RateLimiter();
+		limiter.setTopicLimit((byte) 1, new TokenBucket(0.001, 1, true));
+		limiter.setConnectionLimit(new TokenBucket(10, 3, false));
+
+		assertEquals(0, limiter.admit(protocol.createPublishRequest((byte) 1, new byte[0])));
+		assertEquals(-1, limiter.admit(protocol.createPublishRequest((byte) 1, new byte[0])));
+		assertEquals(1, limiter.getDropped());
+		// The dropped message didn't take a connection token
+		assertEquals(0, limiter.admit(protocol.createPublishRequest((byte) 2, new byte[0])));
+		assertEquals(0, limiter.admit(protocol.createPublishRequest((byte) 2, new byte[0])));
+		assertTrue(limiter.admit(protocol.createPublishRequest((byte) 2, new byte[0])) > 0);
+		assertEquals(1, limiter.getDropped());
+	}
+
+	@Test
+	void connectionDropRefundsTopic() {
+		RateLimiter limiter = new RateLimiter();
+		limiter.setTopicLimit((byte) 1, new TokenBucket(0.001, 2, true));
+		limiter.setConnectionLimit(new TokenBucket(0.001, 1, true));
+
+		assertEquals(0, limiter.admit(protocol.createPublishRequest((byte) 1, new byte[0])));
+		assertEquals(-1, limiter.admit(protocol.createPublishRequest((byte) 1, new byte[0])));
+		// The topic's second token was given back
+		limiter.setConnectionLimit(null);
+		assertEquals(0, limiter.admit(protocol.createPublishRequest((byte) 1, new byte[0])));
+		assertEquals(-1, limiter.admit(protocol.createPublishRequest((byte) 1, new byte[0])));
+		assertEquals(2, limiter.getDropped());
+	}
+}
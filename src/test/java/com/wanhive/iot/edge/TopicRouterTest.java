@@ -0,0 +1,157 @@
+/*
+ * TopicRouterTest.java
+ * 
+ * Tests of the dispatch of the publications by topic
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.edge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.wanhive.iot.protocol.ChannelClient;
+import com.wanhive.iot.protocol.Loopback;
+import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.Protocol;
+import com.wanhive.iot.protocol.StatusCode;
+
+/**
+ * {@link TopicRouter} tests
+ * 
+ * @author amit
+ *
+ */
+class TopicRouterTest {
+	private final Protocol protocol = new Protocol();
+	private final List<Message> fallback = new ArrayList<Message>();
+	private final TopicRouter router = new TopicRouter(fallback::add);
+
+	@Test
+	void routesByTopic() {
+		List<Message> low = new ArrayList<Message>();
+		List<Message> high = new ArrayList<Message>();
+		router.add((byte) 1, low::add);
+		router.add((byte) 200, high::add);
+
+		Message first = publication((byte) 1);
+		Message second = publication((byte) 200);
+		Message third = publication((byte) 2);
+		router.receive(first);
+		router.receive(second);
+		router.receive(third);
+		assertEquals(1, low.size());
+		assertSame(first, low.get(0));
+		assertEquals(1, high.size());
+		assertSame(second, high.get(0));
+		// No handler for the topic
+		assertEquals(1, fallback.size());
+		assertSame(third, fallback.get(0));
+	}
+
+	@Test
+	void otherMessagesGoToTheFallback() {
+		List<Message> handler = new ArrayList<Message>();
+		router.add((byte) 1, handler::add);
+
+		// Same session as the topic, not a publication
+		router.receive(protocol.createSubscribeRequest((byte) 1));
+		Message response = publication((byte) 1);
+		response.header().setStatus(StatusCode.OK);
+		router.receive(response);
+		assertTrue(handler.isEmpty());
+		assertEquals(2, fallback.size());
+
+		// Dropped without a fallback
+		router.setFallback(null);
+		router.receive(publication((byte) 2));
+		assertEquals(2, fallback.size());
+	}
+
+	@Test
+	void addsAndRemovesHandlers() {
+		List<String> calls = new ArrayList<String>();
+		Receiver a = m -> calls.add("a");
+		Receiver b = m -> calls.add("b");
+		router.add((byte) 1, a);
+		router.add((byte) 1, b);
+		router.add((byte) 1, a);
+		router.receive(publication((byte) 1));
+		assertEquals("[a, b, a]", calls.toString());
+
+		calls.clear();
+		assertTrue(router.remove((byte) 1, a));
+		router.receive(publication((byte) 1));
+		assertEquals("[b, a]", calls.toString());
+		assertFalse(router.remove((byte) 2, a));
+
+		calls.clear();
+		router.clear((byte) 1);
+		assertFalse(router.remove((byte) 1, b));
+		router.receive(publication((byte) 1));
+		assertTrue(calls.isEmpty());
+		assertEquals(1, fallback.size());
+		assertThrows(IllegalArgumentException.class, () -> router.add((byte) 1, null));
+	}
+
+	@Test
+	void routesFrames() throws IOException {
+		List<Message> handler = new ArrayList<Message>();
+		router.add((byte) 1, handler::add);
+		try (Loopback loopback = new Loopback()) {
+			SocketChannel[] channels = loopback.connect();
+			ChannelClient sender = Loopback.client(channels[0]);
+			ChannelClient receiver = Loopback.client(channels[1]);
+			receiver.setTimeout(5000);
+			try {
+				sender.send(publication((byte) 1));
+				sender.send(publication((byte) 2));
+				router.receive(receiver.receiveFrame());
+				router.receive(receiver.receiveFrame());
+			} finally {
+				sender.close();
+				receiver.close();
+			}
+		}
+		assertEquals(1, handler.size());
+		assertEquals(1, handler.get(0).header().getSession());
+		assertEquals(1, fallback.size());
+		assertEquals(2, fallback.get(0).header().getSession());
+	}
+
+	/**
+	 * Creates a publication
+	 * 
+	 * @param topic The topic identifier
+	 * @return The publication {@link Message}
+	 */
+	private Message publication(byte topic) {
+		return protocol.createPublishRequest(topic, new byte[8]);
+	}
+}
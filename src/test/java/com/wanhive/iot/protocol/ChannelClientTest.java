@@ -0,0 +1,320 @@
+/*
+ * ChannelClientTest.java
+ * 
+ * Tests of the clients over the loopback connections
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ChannelClient} and {@link WanhiveClient} tests
+ * 
+ * @author amit
+ *
+ */
+class ChannelClientTest {
+	private final Protocol protocol = new Protocol();
+	private final Loopback loopback;
+	private final SocketChannel[] channels;
+
+	ChannelClientTest() throws IOException {
+		loopback = new Loopback();
+		channels = loopback.connect();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		channels[0].close();
+		channels[1].close();
+		loopback.close();
+	}
+
+	@Test
+	void receiveCopiesOnlyTheMatch() throws IOException {
+		ChannelClient client = Loopback.client(channels[0]);
+		ChannelClient peer = Loopback.client(channels[1]);
+		assertReceiveCopiesOnlyTheMatch(client, peer);
+	}
+
+	@Test
+	void blockingReceiveCopiesOnlyTheMatch() throws IOException {
+		WanhiveClient client = new WanhiveClient(channels[0].socket());
+		ChannelClient peer = Loopback.client(channels[1]);
+		assertReceiveCopiesOnlyTheMatch(client, peer);
+	}
+
+	@Test
+	void readsPartialMessages() throws Exception {
+		ChannelClient client = Loopback.client(channels[0]);
+		client.setTimeout(5000);
+		List<Message> messages = messages(64);
+		byte[] data = bytes(messages);
+		// The peer trickles the data in small chunks
+		CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+			try {
+				for (int i = 0; i < data.length; i += 7) {
+					channels[1].write(ByteBuffer.wrap(data, i, Math.min(7, data.length - i)));
+					if (i % 700 == 0) {
+						Thread.sleep(1);
+					}
+				}
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		for (Message message : messages) {
+			assertArrayEquals(bytes(message), bytes(client.receive()));
+		}
+		writer.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void readReturnsNullUntilTheMessageCompletes() throws Exception {
+		ChannelClient client = Loopback.client(channels[0]);
+		assertNull(client.read());
+		Message message = protocol.createPublishRequest((byte) 1, new byte[100]);
+		byte[] data = bytes(message);
+		channels[1].write(ByteBuffer.wrap(data, 0, Packet.HEADER_SIZE + 10));
+		Thread.sleep(50);
+		assertNull(client.read());
+
+		channels[1].write(ByteBuffer.wrap(data, Packet.HEADER_SIZE + 10, data.length - Packet.HEADER_SIZE - 10));
+		long deadline = System.currentTimeMillis() + 5000;
+		Message received;
+		while ((received = client.read()) == null) {
+			assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(1);
+		}
+		assertArrayEquals(data, bytes(received));
+	}
+
+	@Test
+	void sendsPastTheSocketBuffers() throws Exception {
+		ChannelClient client = Loopback.client(channels[0]);
+		client.setTimeout(5000);
+		List<Message> messages = messages(4096);
+		byte[] data = bytes(messages);
+		// Several megabytes, the sender must wait for the slow reader
+		CompletableFuture<Void> sender = CompletableFuture.runAsync(() -> {
+			try {
+				client.send(messages);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		byte[] received = new byte[data.length];
+		ByteBuffer buffer = ByteBuffer.allocate(1000);
+		int offset = 0;
+		while (offset < data.length) {
+			buffer.clear();
+			int bytes = channels[1].read(buffer);
+			assertNotEquals(-1, bytes);
+			System.arraycopy(buffer.array(), 0, received, offset, bytes);
+			offset += bytes;
+		}
+		sender.get(5, TimeUnit.SECONDS);
+		assertArrayEquals(data, received);
+	}
+
+	@Test
+	void enqueueStopsAtTheBatchSize() throws IOException {
+		ChannelClient client = Loopback.client(channels[0]);
+		assertFalse(client.isPending());
+		assertEquals(SelectionKey.OP_READ, client.interestOps());
+		Message message = protocol.createPublishRequest((byte) 1, new byte[Packet.PAYLOAD_SIZE]);
+		int count = 0;
+		while (client.enqueue(message)) {
+			++count;
+		}
+		assertEquals(Packet.BATCH_SIZE / Packet.MTU, count);
+		assertTrue(client.isPending());
+		assertEquals(SelectionKey.OP_READ | SelectionKey.OP_WRITE, client.interestOps());
+
+		assertTrue(client.flush());
+		assertFalse(client.isPending());
+		assertTrue(client.enqueue(message));
+	}
+
+	@Test
+	void readsAndWritesConcurrently() throws Exception {
+		ChannelClient client = Loopback.client(channels[0]);
+		ChannelClient peer = Loopback.client(channels[1]);
+		client.setTimeout(5000);
+		peer.setTimeout(5000);
+		List<Message> messages = messages(2048);
+		// The peer echoes everything back
+		CompletableFuture<Void> echo = CompletableFuture.runAsync(() -> {
+			try {
+				for (int i = 0; i < messages.size(); ++i) {
+					peer.send(peer.receive());
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		CompletableFuture<Void> sender = CompletableFuture.runAsync(() -> {
+			try {
+				for (Message message : messages) {
+					client.send(message);
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		for (Message message : messages) {
+			assertArrayEquals(bytes(message), bytes(client.receive()));
+		}
+		sender.get(5, TimeUnit.SECONDS);
+		echo.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void receiveTimesOut() throws IOException {
+		ChannelClient client = Loopback.client(channels[0]);
+		client.setTimeout(100);
+		assertThrows(SocketTimeoutException.class, () -> client.receive());
+	}
+
+	@Test
+	void receiveDetectsTheEndOfStream() throws IOException {
+		ChannelClient client = Loopback.client(channels[0]);
+		client.setTimeout(5000);
+		Message message = protocol.createPublishRequest((byte) 1, new byte[10]);
+		Loopback.client(channels[1]).send(message);
+		channels[1].close();
+		assertNotNull(client.receive());
+		assertThrows(EOFException.class, () -> client.receive());
+	}
+
+	/**
+	 * Creates the publish requests of different lengths
+	 * 
+	 * @param count The number of messages
+	 * @return A list of {@link Message}s
+	 */
+	private List<Message> messages(int count) {
+		List<Message> messages = new ArrayList<Message>(count);
+		for (int i = 0; i < count; ++i) {
+			byte[] data = new byte[(i * 31) % (Packet.PAYLOAD_SIZE + 1)];
+			for (int j = 0; j < data.length; ++j) {
+				data[j] = (byte) (i + j);
+			}
+			messages.add(protocol.createPublishRequest((byte) i, data));
+		}
+		return messages;
+	}
+
+	/**
+	 * Serializes a {@link Message}
+	 * 
+	 * @param message The {@link Message}
+	 * @return The message's bytes
+	 */
+	private static byte[] bytes(Message message) {
+		byte[] data = new byte[message.header().getLength()];
+		message.writeTo(data, 0);
+		return data;
+	}
+
+	/**
+	 * Serializes a list of {@link Message}s back to back
+	 * 
+	 * @param messages The {@link Message}s
+	 * @return The messages' bytes
+	 */
+	private static byte[] bytes(List<Message> messages) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (Message message : messages) {
+			byte[] data = bytes(message);
+			out.write(data, 0, data.length);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Checks that the messages skipped by {@link Client#receive(short)} don't
+	 * take any pooled message
+	 * 
+	 * @param client The receiving {@link Client}
+	 * @param peer   The sending {@link Client}
+	 * @throws IOException
+	 */
+	private void assertReceiveCopiesOnlyTheMatch(Client client, Client peer) throws IOException {
+		CountingPool pool = new CountingPool();
+		client.setMessagePool(pool);
+		client.setTimeout(5000);
+		Message last = null;
+		for (int i = 0; i < 5; ++i) {
+			last = protocol.createPublishRequest((byte) i, new byte[i]);
+			peer.send(last);
+		}
+
+		Message message = client.receive(last.header().getSequenceNumber());
+		assertEquals(4, message.header().getSession());
+		assertEquals(1, pool.acquired.get());
+		message.release();
+		assertEquals(1, pool.size());
+	}
+
+	/**
+	 * Counts the messages taken from the pool
+	 */
+	private static class CountingPool extends MessagePool {
+		final AtomicInteger acquired = new AtomicInteger();
+
+		CountingPool() {
+			super(16);
+		}
+
+		@Override
+		public Message acquire() {
+			acquired.incrementAndGet();
+			return super.acquire();
+		}
+	}
+}
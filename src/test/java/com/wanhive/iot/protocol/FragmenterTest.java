@@ -0,0 +1,152 @@
+/*
+ * FragmenterTest.java
+ * 
+ * Tests of the fragmentation and reassembly
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link Fragmenter}, {@link Reassembler}, {@link RecordBatcher} and
+ * {@link RecordIterator} tests
+ * 
+ * @author amit
+ *
+ */
+class FragmenterTest {
+	private final Protocol protocol = new Protocol();
+	private final Reassembler reassembler = new Reassembler(64 * Fragmenter.FRAGMENT_SIZE, 10000);
+	private final Random random = new Random(1);
+
+	@Test
+	void reassemblesOutOfOrder() {
+		byte[] data = random(3 * Fragmenter.FRAGMENT_SIZE - 5);
+		List<Message> fragments = new Fragmenter(protocol).fragment((byte) 4, data);
+		assertEquals(3, fragments.size());
+		Collections.reverse(fragments);
+		assertNull(reassembler.accept(fragments.get(0)));
+		assertNull(reassembler.accept(new Frame(fragments.get(1))));
+		assertArrayEquals(data, reassembler.accept(fragments.get(2)));
+		assertEquals(0, reassembler.size());
+	}
+
+	@Test
+	void plainPublicationPassesThrough() {
+		byte[] data = random(20);
+		data[0] = Envelope.MAGIC;
+		Message message = protocol.createPublishRequest((byte) 1, data);
+		assertFalse(Envelope.isPresent(message.header()));
+		assertArrayEquals(data, reassembler.accept(message));
+
+		RecordIterator records = new RecordIterator(message);
+		assertArrayEquals(data, records.next());
+		assertFalse(records.hasNext());
+	}
+
+	@Test
+	void separateFragmentersDontCollide() {
+		byte[] a = random(2 * Fragmenter.FRAGMENT_SIZE);
+		byte[] b = random(2 * Fragmenter.FRAGMENT_SIZE);
+		List<Message> fa = new Fragmenter(protocol).fragment((byte) 1, a);
+		List<Message> fb = new Fragmenter(protocol).fragment((byte) 1, b);
+		assertNotEquals(Envelope.getTransfer(fa.get(0).header()), Envelope.getTransfer(fb.get(0).header()));
+
+		assertNull(reassembler.accept(fa.get(0)));
+		assertNull(reassembler.accept(fb.get(0)));
+		assertArrayEquals(b, reassembler.accept(fb.get(1)));
+		assertArrayEquals(a, reassembler.accept(fa.get(1)));
+	}
+
+	@Test
+	void staleTransferIsReplaced() {
+		byte[] stale = random(3 * Fragmenter.FRAGMENT_SIZE);
+		byte[] fresh = random(3 * Fragmenter.FRAGMENT_SIZE);
+		List<Message> fs = new Fragmenter(new Protocol()).fragment((byte) 2, stale);
+		List<Message> ff = new Fragmenter(new Protocol()).fragment((byte) 2, fresh);
+		assertEquals(Envelope.getTransfer(fs.get(0).header()), Envelope.getTransfer(ff.get(0).header()));
+
+		assertNull(reassembler.accept(fs.get(0)));
+		assertNull(reassembler.accept(fs.get(1)));
+		assertNull(reassembler.accept(ff.get(0)));
+		assertNull(reassembler.accept(ff.get(1)));
+		assertArrayEquals(fresh, reassembler.accept(ff.get(2)));
+		assertEquals(1, reassembler.getDropped());
+	}
+
+	@Test
+	void compressesLargeData() {
+		byte[] data = new byte[1 << 20];
+		Arrays.fill(data, 64 << 10, 128 << 10, (byte) 7);
+		try (DeflateCodec sender = new DeflateCodec(); DeflateCodec receiver = new DeflateCodec()) {
+			Fragmenter fragmenter = new Fragmenter(protocol);
+			fragmenter.setCodec(sender);
+			reassembler.setCodec(receiver);
+			List<Message> fragments = fragmenter.fragment((byte) 5, data);
+			assertEquals(Envelope.COMPRESSED, Envelope.getFlags(fragments.get(0).header()) & Envelope.COMPRESSED);
+			byte[] result = null;
+			for (Message fragment : fragments) {
+				result = reassembler.accept(fragment);
+			}
+			assertArrayEquals(data, result);
+		}
+	}
+
+	@Test
+	void batchesRecords() {
+		RecordBatcher batcher = new RecordBatcher(protocol, 1000);
+		assertNull(batcher.add((byte) 3, new byte[] { 1 }));
+		assertNull(batcher.add((byte) 3, new byte[0]));
+		assertNull(batcher.add((byte) 3, new byte[] { (byte) 0xA5, 2 }));
+		Message message = batcher.flush((byte) 3);
+		assertTrue(Envelope.isPresent(message.header()));
+
+		RecordIterator records = new RecordIterator(message);
+		assertArrayEquals(new byte[] { 1 }, records.next());
+		assertArrayEquals(new byte[0], records.next());
+		assertArrayEquals(new byte[] { (byte) 0xA5, 2 }, records.next());
+		assertFalse(records.hasNext());
+	}
+
+	/**
+	 * Generates random data
+	 * 
+	 * @param length The data size in bytes
+	 * @return The random bytes
+	 */
+	private byte[] random(int length) {
+		byte[] data = new byte[length];
+		random.nextBytes(data);
+		return data;
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * FrameDecoderTest.java
+ * 
+ * Tests of the buffered message decoder
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FrameDecoder} tests
+ * 
+ * @author amit
+ *
+ */
+class FrameDecoderTest {
+	private final Protocol protocol = new Protocol();
+
+	@Test
+	void decodesManyFramesPerRead() throws IOException {
+		List<Message> messages = messages(20);
+		FrameDecoder decoder = new FrameDecoder(Packet.BATCH_SIZE, true);
+		assertTrue(decoder.fill(Channels.newChannel(new ByteArrayInputStream(serialize(messages)))) > 0);
+		for (Message message : messages) {
+			assertTrue(decoder.hasFrame());
+			assertFrame(message, decoder.nextFrame(null));
+		}
+		assertFalse(decoder.hasFrame());
+		assertNull(decoder.nextFrame(null));
+	}
+
+	@Test
+	void joinsSplitFrames() throws IOException {
+		List<Message> messages = messages(40);
+		byte[] data = serialize(messages);
+		for (int chunk : new int[] { 1, 7, Packet.HEADER_SIZE + 1, Packet.MTU - 1 }) {
+			InputStream in = new ChunkedInputStream(data, chunk);
+			FrameDecoder decoder = new FrameDecoder(Packet.MTU, false);
+			List<Message> decoded = new ArrayList<Message>();
+			while (decoder.fill(in) != -1) {
+				Frame frame;
+				while ((frame = decoder.nextFrame(null)) != null) {
+					decoded.add(frame.copy());
+				}
+			}
+			assertEquals(messages.size(), decoded.size());
+			for (int i = 0; i < messages.size(); ++i) {
+				assertFrame(messages.get(i), new Frame(decoded.get(i)));
+			}
+		}
+	}
+
+	@Test
+	void rejectsInvalidLength() throws IOException {
+		byte[] data = serialize(messages(1));
+		ByteBuffer.wrap(data).putShort(24, (short) (Packet.HEADER_SIZE - 1));
+		FrameDecoder decoder = new FrameDecoder(Packet.MTU, false);
+		decoder.fill(new ByteArrayInputStream(data));
+		assertTrue(decoder.hasFrame());
+		assertThrows(ProtocolException.class, () -> decoder.nextFrame(null));
+
+		decoder.clear();
+		assertFalse(decoder.hasFrame());
+		assertThrows(IllegalArgumentException.class, () -> new FrameDecoder(Packet.MTU - 1, false));
+	}
+
+	/**
+	 * Creates the publications of growing size
+	 * 
+	 * @param count The number of messages
+	 * @return The list of messages
+	 */
+	private List<Message> messages(int count) {
+		List<Message> messages = new ArrayList<Message>();
+		for (int i = 0; i < count; ++i) {
+			byte[] data = new byte[(i * 97) % (Packet.PAYLOAD_SIZE + 1)];
+			Arrays.fill(data, (byte) i);
+			messages.add(protocol.createPublishRequest((byte) i, data));
+		}
+		return messages;
+	}
+
+	/**
+	 * Serializes the messages back to back
+	 * 
+	 * @param messages The list of messages
+	 * @return The serialized data
+	 */
+	private static byte[] serialize(List<Message> messages) {
+		int length = 0;
+		for (Message message : messages) {
+			length += message.header().getLength();
+		}
+		byte[] data = new byte[length];
+		int offset = 0;
+		for (Message message : messages) {
+			message.writeTo(data, offset);
+			offset += message.header().getLength();
+		}
+		return data;
+	}
+
+	/**
+	 * Compares a decoded frame with the original message
+	 * 
+	 * @param expected The original {@link Message}
+	 * @param frame    The decoded {@link Frame}
+	 */
+	private static void assertFrame(Message expected, Frame frame) {
+		int length = expected.header().getLength();
+		assertEquals(length, frame.header().getLength());
+		byte[] a = new byte[length];
+		byte[] b = new byte[length];
+		expected.writeTo(a, 0);
+		frame.copy().writeTo(b, 0);
+		assertArrayEquals(a, b);
+	}
+
+	/**
+	 * Returns at most a fixed number of bytes per read
+	 */
+	private static class ChunkedInputStream extends ByteArrayInputStream {
+		private final int chunk;
+
+		ChunkedInputStream(byte[] data, int chunk) {
+			super(data);
+			this.chunk = chunk;
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, chunk));
+		}
+	}
+}
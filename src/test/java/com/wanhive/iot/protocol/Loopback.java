@@ -0,0 +1,151 @@
+/*
+ * Loopback.java
+ * 
+ * Loopback connections for the tests
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * Creates the pairs of connected sockets over the loopback interface, and the
+ * {@link ChannelClient}s on top of them
+ * 
+ * @author amit
+ *
+ */
+public class Loopback implements AutoCloseable {
+	private static final char[] PASSWORD = "secret".toCharArray();
+	private final ServerSocketChannel server;
+
+	/**
+	 * Constructor
+	 * 
+	 * @throws IOException
+	 */
+	public Loopback() throws IOException {
+		server = ServerSocketChannel.open();
+		server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+	}
+
+	/**
+	 * Opens a connection
+	 * 
+	 * @return The connecting end and the accepting end of the connection, in
+	 *         this order
+	 * @throws IOException
+	 */
+	public SocketChannel[] connect() throws IOException {
+		SocketChannel a = SocketChannel.open(server.getLocalAddress());
+		SocketChannel b = server.accept();
+		return new SocketChannel[] { a, b };
+	}
+
+	@Override
+	public void close() throws IOException {
+		server.close();
+	}
+
+	/**
+	 * Creates a cleartext client
+	 * 
+	 * @param channel The connected {@link SocketChannel}
+	 * @return The {@link ChannelClient}
+	 * @throws IOException
+	 */
+	public static ChannelClient client(SocketChannel channel) throws IOException {
+		return new ChannelClient(channel);
+	}
+
+	/**
+	 * Creates a secure client
+	 * 
+	 * @param channel The connected {@link SocketChannel}
+	 * @param engine  The {@link SSLEngine} in the client or the server mode
+	 * @return The {@link ChannelClient}
+	 * @throws IOException
+	 */
+	public static ChannelClient client(SocketChannel channel, SSLEngine engine) throws IOException {
+		return new ChannelClient(channel, new SecureChannel(channel, engine));
+	}
+
+	/**
+	 * Creates an {@link SSLContext} which trusts its own self-signed
+	 * certificate. The key store is generated by the JDK's keytool.
+	 * 
+	 * @param directory The directory for the key store
+	 * @return The {@link SSLContext}
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 * @throws InterruptedException
+	 */
+	public static SSLContext context(Path directory)
+			throws IOException, GeneralSecurityException, InterruptedException {
+		File store = directory.resolve("test.p12").toFile();
+		String keytool = System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool";
+		Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "test", "-keyalg", "EC",
+				"-storetype", "PKCS12", "-keystore", store.getPath(), "-storepass", new String(PASSWORD),
+				"-dname", "CN=localhost", "-validity", "2").inheritIO().start();
+		if (process.waitFor() != 0) {
+			throw new IOException("keytool failed");
+		}
+
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream in = new FileInputStream(store)) {
+			keyStore.load(in, PASSWORD);
+		}
+		KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		kmf.init(keyStore, PASSWORD);
+		TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		tmf.init(keyStore);
+		SSLContext context = SSLContext.getInstance("TLS");
+		context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+		return context;
+	}
+
+	/**
+	 * Creates an {@link SSLEngine}
+	 * 
+	 * @param context The {@link SSLContext}
+	 * @param client  true for the client mode, false for the server mode
+	 * @return The {@link SSLEngine}
+	 */
+	public static SSLEngine engine(SSLContext context, boolean client) {
+		SSLEngine engine = client ? context.createSSLEngine("localhost", 0) : context.createSSLEngine();
+		engine.setUseClientMode(client);
+		return engine;
+	}
+}
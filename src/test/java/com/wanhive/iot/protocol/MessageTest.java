@@ -0,0 +1,188 @@
+/*
+ * MessageTest.java
+ * 
+ * Tests of the messages
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link Message} tests
+ * 
+ * @author amit
+ *
+ */
+class MessageTest {
+
+	@Test
+	void concurrentWritesOfDirectMessage() throws InterruptedException {
+		MessagePool pool = new MessagePool(4, true);
+		byte[] data = new byte[Packet.PAYLOAD_SIZE];
+		for (int i = 0; i < data.length; ++i) {
+			data[i] = (byte) i;
+		}
+		Message message = new Protocol(pool).createPublishRequest((byte) 1, data);
+		byte[] expected = new byte[Packet.MTU];
+		message.writeTo(expected, 0);
+
+		AtomicInteger errors = new AtomicInteger();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; ++i) {
+			message.retain();
+			threads.add(new Thread(() -> {
+				ByteBuffer dst = ByteBuffer.allocateDirect(Packet.MTU);
+				byte[] array = new byte[Packet.MTU];
+				try {
+					for (int j = 0; j < 20000; ++j) {
+						dst.clear();
+						message.writeTo(dst);
+						dst.flip();
+						Arrays.fill(array, (byte) 0);
+						dst.get(array, 0, dst.remaining());
+						if (!Arrays.equals(expected, array)) {
+							errors.incrementAndGet();
+						}
+						Arrays.fill(array, (byte) 0);
+						message.writeTo(array, 0);
+						if (!Arrays.equals(expected, array)) {
+							errors.incrementAndGet();
+						}
+					}
+				} catch (RuntimeException e) {
+					errors.incrementAndGet();
+				} finally {
+					message.release();
+				}
+			}));
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertEquals(0, errors.get());
+		assertEquals(0, message.buffer().position());
+
+		byte[] array = new byte[Packet.MTU];
+		message.writeTo(array, 0);
+		assertArrayEquals(expected, array);
+	}
+
+	@Test
+	void copyToCopiesTheMessagesLength() {
+		for (boolean direct : new boolean[] { false, true }) {
+			Message message = new Protocol(new MessagePool(4, direct)).createPublishRequest((byte) 1, data(100));
+			for (boolean dstDirect : new boolean[] { false, true }) {
+				// Stale data beyond the message's length is left alone
+				Message dst = new MessagePool(4, dstDirect).acquire();
+				byte[] garbage = new byte[Packet.MTU];
+				Arrays.fill(garbage, (byte) 0x5a);
+				dst.readFrom(garbage, 0, Packet.MTU);
+
+				assertSame(dst, message.copyTo(dst));
+				byte[] expected = garbage.clone();
+				message.writeTo(expected, 0);
+				byte[] actual = new byte[Packet.MTU];
+				ByteBuffer buffer = dst.buffer().duplicate();
+				buffer.clear();
+				buffer.get(actual);
+				assertArrayEquals(expected, actual);
+			}
+		}
+
+		Message message = new Protocol().createPublishRequest((byte) 1, data(100));
+		byte[] before = bytes(message);
+		assertSame(message, message.copyTo(message));
+		assertArrayEquals(before, bytes(message));
+	}
+
+	@Test
+	void duplicateIsIndependent() {
+		MessagePool pool = new MessagePool(4);
+		Message message = new Protocol(pool).createPublishRequest((byte) 1, data(100));
+		Message copy = message.duplicate();
+		assertNotSame(message, copy);
+		assertArrayEquals(bytes(message), bytes(copy));
+
+		copy.payload().setByte(0, (byte) -1);
+		copy.header().setSource(99);
+		assertEquals(data(1)[0], message.payload().getByte(0));
+		assertEquals(0, message.header().getSource());
+		// The copy came from the same pool
+		copy.release();
+		assertEquals(1, pool.size());
+		message.release();
+		assertEquals(2, pool.size());
+	}
+
+	@Test
+	void setAddressRewritesOnlyTheAddress() {
+		Message message = new Protocol().createPublishRequest((byte) 1, data(100));
+		message.header().setLabel(42);
+		byte[] before = bytes(message);
+		message.setAddress(7, 9);
+		assertEquals(7, message.header().getSource());
+		assertEquals(9, message.header().getDestination());
+		assertEquals(42, message.header().getLabel());
+
+		message.setAddress(0, 0);
+		assertArrayEquals(before, bytes(message));
+	}
+
+	/**
+	 * Creates some data
+	 * 
+	 * @param length The data size in bytes
+	 * @return The data
+	 */
+	private static byte[] data(int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; ++i) {
+			data[i] = (byte) (i * 7 + 1);
+		}
+		return data;
+	}
+
+	/**
+	 * Serializes a {@link Message}
+	 * 
+	 * @param message The {@link Message}
+	 * @return The message's bytes
+	 */
+	private static byte[] bytes(Message message) {
+		byte[] data = new byte[message.header().getLength()];
+		message.writeTo(data, 0);
+		return data;
+	}
+}
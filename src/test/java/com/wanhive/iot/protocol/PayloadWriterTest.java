@@ -0,0 +1,109 @@
+/*
+ * PayloadWriterTest.java
+ * 
+ * Tests of the payload field codec
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PayloadWriter} and {@link PayloadReader} tests
+ * 
+ * @author amit
+ *
+ */
+class PayloadWriterTest {
+	private final Payload payload = new Message().payload();
+
+	@Test
+	void roundTrip() {
+		PayloadWriter w = new PayloadWriter(payload);
+		w.writeByte(7).writeShort((short) -2).writeInt(123456).writeLong(Long.MIN_VALUE);
+		w.writeFloat(1.5f).writeDouble(-2.25);
+		w.writeVarInt(0).writeVarInt(300).writeVarInt(-1).writeVarLong(Long.MAX_VALUE);
+		w.writeSignedVarInt(-64).writeSignedVarLong(Long.MIN_VALUE);
+		w.writeString("aé€😀");
+
+		PayloadReader r = new PayloadReader(payload, w.position());
+		assertEquals(7, r.readByte());
+		assertEquals(-2, r.readShort());
+		assertEquals(123456, r.readInt());
+		assertEquals(Long.MIN_VALUE, r.readLong());
+		assertEquals(1.5f, r.readFloat());
+		assertEquals(-2.25, r.readDouble());
+		assertEquals(0, r.readVarInt());
+		assertEquals(300, r.readVarInt());
+		assertEquals(-1, r.readVarInt());
+		assertEquals(Long.MAX_VALUE, r.readVarLong());
+		assertEquals(-64, r.readSignedVarInt());
+		assertEquals(Long.MIN_VALUE, r.readSignedVarLong());
+		assertEquals("aé€😀", r.readString());
+		assertFalse(r.hasRemaining());
+	}
+
+	@Test
+	void compactVarInts() {
+		PayloadWriter w = new PayloadWriter(payload);
+		w.writeSignedVarInt(-1).writeVarInt(127);
+		assertEquals(2, w.position());
+		w.writeVarInt(128);
+		assertEquals(4, w.position());
+	}
+
+	@Test
+	void overflowKeepsPosition() {
+		int start = Packet.PAYLOAD_SIZE - 2;
+		PayloadWriter w = new PayloadWriter(payload, start);
+		assertThrows(IndexOutOfBoundsException.class, () -> w.writeVarInt(Integer.MAX_VALUE));
+		assertThrows(IndexOutOfBoundsException.class, () -> w.writeVarLong(-1L));
+		assertThrows(IndexOutOfBoundsException.class, () -> w.writeInt(0));
+		assertThrows(IllegalArgumentException.class, () -> w.writeString("ab"));
+		assertEquals(start, w.position());
+		w.writeString("a");
+		assertEquals(Packet.PAYLOAD_SIZE, w.position());
+	}
+
+	@Test
+	void rejectsMalformedStrings() {
+		int[][] samples = { { 0x80 }, { 0xBF }, { 0xC0, 0x80 }, { 0xE0, 0x80, 0x80 }, { 0xED, 0xA0, 0x80 },
+				{ 0xF4, 0x90, 0x80, 0x80 }, { 0xF8, 0x80, 0x80, 0x80 }, { 0xFF }, { 0xC3, 0x41 }, { 0xE2, 0x82 } };
+		for (int[] sample : samples) {
+			PayloadWriter w = new PayloadWriter(payload).writeVarInt(sample.length);
+			for (int b : sample) {
+				w.writeByte(b);
+			}
+			PayloadReader r = new PayloadReader(payload, w.position());
+			assertThrows(IllegalStateException.class, () -> r.readString());
+		}
+	}
+
+	@Test
+	void truncatedInput() {
+		new PayloadWriter(payload).writeVarInt(1000);
+		assertThrows(IndexOutOfBoundsException.class, () -> new PayloadReader(payload, 1).readVarInt());
+		assertThrows(IndexOutOfBoundsException.class, () -> new PayloadReader(payload, 2).readString());
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * PublishTemplateTest.java
+ * 
+ * Tests of the pre-encoded publish requests
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PublishTemplate} tests. The reference messages come from a separate
+ * {@link Protocol}, so that both sides use the same sequence numbers.
+ * 
+ * @author amit
+ *
+ */
+class PublishTemplateTest {
+
+	@Test
+	void matchesTheProtocol() {
+		Protocol expected = new Protocol();
+		PublishTemplate template = new PublishTemplate(new Protocol(), (byte) 5);
+		for (int length : new int[] { 0, 1, 7, 8, 100, Packet.PAYLOAD_SIZE }) {
+			byte[] data = data(length);
+			assertArrayEquals(bytes(expected.createPublishRequest((byte) 5, data)), bytes(template.create(data)));
+		}
+	}
+
+	@Test
+	void overwritesThePooledMessages() {
+		// The pool hands out a message full of stale data
+		MessagePool pool = new MessagePool(16);
+		Message stale = pool.acquire();
+		byte[] garbage = new byte[Packet.MTU];
+		Arrays.fill(garbage, (byte) 0x5a);
+		stale.readFrom(garbage, 0, Packet.MTU);
+		stale.release();
+
+		Protocol expected = new Protocol();
+		PublishTemplate template = new PublishTemplate(new Protocol(pool), (byte) 5);
+		byte[] data = data(10);
+		assertArrayEquals(bytes(expected.createPublishRequest((byte) 5, data)), bytes(template.create(data)));
+	}
+
+	@Test
+	void copiesTheSlice() {
+		Protocol expected = new Protocol();
+		PublishTemplate template = new PublishTemplate(new Protocol(), (byte) 5);
+		byte[] data = data(64);
+		assertArrayEquals(bytes(expected.createPublishRequest((byte) 5, Arrays.copyOfRange(data, 8, 40))),
+				bytes(template.create(data, 8, 32)));
+	}
+
+	@Test
+	void takesTheAllocatorsSequenceNumbers() {
+		Protocol shared = new Protocol();
+		PublishTemplate template = new PublishTemplate(new Protocol(), (byte) 5, new SequenceAllocator(shared, 4));
+		Protocol expected = new Protocol();
+		for (int i = 0; i < 8; ++i) {
+			assertArrayEquals(bytes(expected.createPublishRequest((byte) 5, data(i))), bytes(template.create(data(i))));
+		}
+		// Two blocks were reserved
+		assertEquals(9, shared.nextSequenceNumber());
+	}
+
+	@Test
+	void rejectsInvalidLengths() {
+		PublishTemplate template = new PublishTemplate(new Protocol(), (byte) 5);
+		assertEquals(5, template.getTopic());
+		assertThrows(IllegalArgumentException.class, () -> template.create(-1));
+		assertThrows(IllegalArgumentException.class, () -> template.create(Packet.PAYLOAD_SIZE + 1));
+		assertThrows(IllegalArgumentException.class, () -> template.create(new byte[Packet.PAYLOAD_SIZE + 1]));
+	}
+
+	/**
+	 * Creates some data
+	 * 
+	 * @param length The data size in bytes
+	 * @return The data
+	 */
+	private static byte[] data(int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; ++i) {
+			data[i] = (byte) (i * 7 + 1);
+		}
+		return data;
+	}
+
+	/**
+	 * Serializes a {@link Message}
+	 * 
+	 * @param message The {@link Message}
+	 * @return The message's bytes
+	 */
+	private static byte[] bytes(Message message) {
+		byte[] data = new byte[message.header().getLength()];
+		message.writeTo(data, 0);
+		return data;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * SecureChannelTest.java
+ * 
+ * Tests of the secure connections over the loopback interface
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link SecureChannel} tests
+ * 
+ * @author amit
+ *
+ */
+class SecureChannelTest {
+	@TempDir
+	static Path directory;
+	private static SSLContext context;
+
+	private final Protocol protocol = new Protocol();
+	private final Loopback loopback;
+	private final ChannelClient client;
+	private final ChannelClient server;
+
+	SecureChannelTest() throws IOException {
+		loopback = new Loopback();
+		SocketChannel[] channels = loopback.connect();
+		client = Loopback.client(channels[0], Loopback.engine(context, true));
+		server = Loopback.client(channels[1], Loopback.engine(context, false));
+		client.setTimeout(5000);
+		server.setTimeout(5000);
+	}
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		context = Loopback.context(directory);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		client.close();
+		server.close();
+		loopback.close();
+	}
+
+	@Test
+	void exchangesMessages() throws Exception {
+		List<Message> messages = messages(256);
+		// The server echoes everything back, the handshake completes on the way
+		CompletableFuture<Void> echo = CompletableFuture.runAsync(() -> {
+			try {
+				for (int i = 0; i < messages.size(); ++i) {
+					server.send(server.receive());
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		for (Message message : messages) {
+			client.send(message);
+			assertArrayEquals(bytes(message), bytes(client.receive()));
+		}
+		echo.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void transfersInBulk() throws Exception {
+		List<Message> messages = messages(2048);
+		// Many records in both the directions at once
+		CompletableFuture<Void> sender = CompletableFuture.runAsync(() -> {
+			try {
+				client.send(messages);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		CompletableFuture<Void> reverse = CompletableFuture.runAsync(() -> {
+			try {
+				server.send(messages);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		for (Message message : messages) {
+			assertArrayEquals(bytes(message), bytes(server.receive()));
+			assertArrayEquals(bytes(message), bytes(client.receive()));
+		}
+		sender.get(5, TimeUnit.SECONDS);
+		reverse.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void closeEndsTheStream() throws Exception {
+		Message message = protocol.createPublishRequest((byte) 1, new byte[10]);
+		CompletableFuture<Message> received = CompletableFuture.supplyAsync(() -> {
+			try {
+				return server.receive();
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		client.send(message);
+		assertArrayEquals(bytes(message), bytes(received.get(5, TimeUnit.SECONDS)));
+
+		client.close();
+		assertThrows(EOFException.class, () -> server.receive());
+	}
+
+	/**
+	 * Creates the publish requests of different lengths
+	 * 
+	 * @param count The number of messages
+	 * @return A list of {@link Message}s
+	 */
+	private List<Message> messages(int count) {
+		List<Message> messages = new ArrayList<Message>(count);
+		for (int i = 0; i < count; ++i) {
+			byte[] data = new byte[(i * 31) % (Packet.PAYLOAD_SIZE + 1)];
+			for (int j = 0; j < data.length; ++j) {
+				data[j] = (byte) (i + j);
+			}
+			messages.add(protocol.createPublishRequest((byte) i, data));
+		}
+		return messages;
+	}
+
+	/**
+	 * Serializes a {@link Message}
+	 * 
+	 * @param message The {@link Message}
+	 * @return The message's bytes
+	 */
+	private static byte[] bytes(Message message) {
+		byte[] data = new byte[message.header().getLength()];
+		message.writeTo(data, 0);
+		return data;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * SequenceAllocatorTest.java
+ * 
+ * Tests of the sequence number allocation
+ * 
+ * This program is part of Wanhive IoT Platform.
+ * 
+ * Apache-2.0 License
+ * Copyright 2026 Wanhive Systems Private Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package com.wanhive.iot.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FlowControl} and {@link SequenceAllocator} tests
+ * 
+ * @author amit
+ *
+ */
+class SequenceAllocatorTest {
+
+	@Test
+	void wrapsAroundToOne() {
+		FlowControl fc = new FlowControl();
+		fc.setSequenceNumber((short) (Short.MAX_VALUE - 1));
+		assertEquals(Short.MAX_VALUE, fc.nextSequenceNumber());
+		assertEquals(1, fc.nextSequenceNumber());
+		assertEquals(2, fc.nextSequenceNumber());
+	}
+
+	@Test
+	void blocksDontWrap() {
+		FlowControl fc = new FlowControl();
+		fc.setSequenceNumber((short) (Short.MAX_VALUE - 5));
+		assertEquals(1, fc.reserve(10));
+		assertEquals(11, fc.nextSequenceNumber());
+	}
+
+	@Test
+	void allocatorsShareTheCounter() {
+		Protocol shared = new Protocol();
+		shared.setSession((byte) 9);
+		shared.setSequenceNumber((short) (Short.MAX_VALUE - 20));
+		SequenceAllocator a = new SequenceAllocator(shared, 16);
+		SequenceAllocator b = new SequenceAllocator(shared, 16);
+		assertEquals(Short.MAX_VALUE - 19, a.next());
+		assertEquals(1, b.next());
+		assertEquals(Short.MAX_VALUE - 18, a.next());
+		assertEquals(17, shared.nextSequenceNumber());
+
+		Protocol local = new Protocol(null, b);
+		assertEquals(2, local.createPublishRequest((byte) 1, new byte[0]).header().getSequenceNumber());
+		assertEquals(3, new PublishTemplate(shared, (byte) 1, b).create(0).header().getSequenceNumber());
+		assertEquals(9, local.getSession());
+	}
+
+	@Test
+	void concurrentAllocationsAreDistinct() throws InterruptedException {
+		FlowControl fc = new FlowControl();
+		Set<Short> seen = ConcurrentHashMap.newKeySet();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				SequenceAllocator allocator = new SequenceAllocator(fc, 8);
+				for (int j = 0; j < 4000; j++) {
+					short sn = (j % 2 == 0) ? allocator.next() : fc.nextSequenceNumber();
+					assertTrue(sn > 0);
+					seen.add(sn);
+				}
+			}));
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertEquals(16000, seen.size());
+	}
+}
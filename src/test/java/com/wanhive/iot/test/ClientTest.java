@@ -30,7 +30,9 @@ import org.apache.commons.configuration2.INIConfiguration;
 import com.wanhive.iot.edge.Executor;
 import com.wanhive.iot.protocol.Client;
 import com.wanhive.iot.protocol.ClientFactory;
+import com.wanhive.iot.protocol.FlushPolicy;
 import com.wanhive.iot.protocol.Message;
+import com.wanhive.iot.protocol.MessagePool;
 import com.wanhive.iot.protocol.Protocol;
 import com.wanhive.iot.protocol.bean.Identity;
 import com.wanhive.iot.protocol.configuration.Configuration;
@@ -101,10 +103,15 @@ public class ClientTest {
 			 * STEP 6:Execute the client
 			 */
 			int queueCapacity = config.getSection("HUB").getInt("messagePoolSize", 1024);
+			MessagePool pool = new MessagePool(queueCapacity);
+			client.setMessagePool(pool);
 			Executor exec = new Executor(client, queueCapacity, queueCapacity);
+			exec.setFlushPolicy(new FlushPolicy(config.getSection("CLIENT").getInt("flushThreshold", 0),
+					config.getSection("CLIENT").getLong("flushDelay", 0),
+					config.getSection("CLIENT").getBoolean("noDelay", false)));
 			Thread th = new Thread(exec);
 			th.start();
-			Protocol proto = new Protocol();
+			Protocol proto = new Protocol(pool);
 			// Publish five (5) messages to the topic five (5)
 			for (int i = 0; i < 5; i++) {
 				Message msg = proto.createPublishRequest((byte) 5, "HelloWorld".getBytes());